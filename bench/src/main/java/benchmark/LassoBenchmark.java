@@ -0,0 +1,88 @@
+package benchmark;
+
+import model.Food;
+import model.FoodStore;
+import model.Lasso;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lasso.update terhadap 15 (jumlah maksimum di game), 1k, dan 100k makanan.
+ *
+ * Kepadatan makanan dibuat tetap (15 makanan per layar 900x700), jadi bidangnya ikut
+ * membesar; yang diukur adalah apakah biaya satu update tetap datar berkat indeks spasial.
+ * Satu operasi = satu update laso yang sedang memanjang menuju target acak.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LassoBenchmark {
+
+    private static final int SCREEN_WIDTH = 900;
+    private static final int SCREEN_HEIGHT = 700;
+    private static final int FOODS_PER_SCREEN = 15;
+    private static final int TARGETS = 1024;
+
+    @Param({"15", "1000", "100000"})
+    public int foodCount;
+
+    private FoodStore foods;
+    private Lasso lasso;
+    private final Point origin = new Point();
+    private Point[] targets;
+    private int nextTarget;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        double scale = Math.sqrt((double) foodCount / FOODS_PER_SCREEN);
+        int width = (int) (SCREEN_WIDTH * scale);
+        int height = (int) (SCREEN_HEIGHT * scale);
+
+        String[] names = {"steak", "carrot"};
+        int[] values = {20, -10};
+        Food.FoodType[] kinds = {Food.FoodType.POSITIVE, Food.FoodType.NEGATIVE};
+        foods = new FoodStore(names, values, kinds, foodCount, 64, Math.max(256, foodCount / 4));
+        for (int i = 0; i < foodCount; i++) {
+            foods.add(random.nextInt(2), random.nextInt(width), random.nextInt(height), 0);
+        }
+
+        // laso ditembakkan dari tengah bidang ke titik-titik dalam jangkauan layar biasa
+        origin.setLocation(width / 2, height / 2);
+        targets = new Point[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = new Point(origin.x + random.nextInt(SCREEN_WIDTH) - SCREEN_WIDTH / 2,
+                    origin.y + random.nextInt(SCREEN_HEIGHT) - SCREEN_HEIGHT / 2);
+        }
+        lasso = new Lasso(origin);
+    }
+
+    @Benchmark
+    public Lasso.LassoState update() {
+        if (lasso.getState() != Lasso.LassoState.EXTENDING) {
+            // lepaskan makanan yang tertangkap agar jumlah makanan DEFAULT tetap
+            int caught = foods.slotOf(lasso.getCaughtFoodId());
+            if (caught >= 0) foods.setState(caught, Food.FoodState.DEFAULT);
+            lasso.reset();
+            lasso.fire(targets[nextTarget++ & (TARGETS - 1)]);
+        }
+        lasso.update(origin, foods);
+        return lasso.getState();
+    }
+}
@@ -0,0 +1,80 @@
+package benchmark;
+
+import model.FileScoreRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import view.GamePanel;
+import viewmodel.GameSimulation;
+import viewmodel.GameViewModel;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya menggambar satu frame GamePanel (latar, Jeff, 15 makanan, keranjang, skor)
+ * ke BufferedImage offscreen dalam mode headless, dengan dan tanpa overlay F3.
+ * Simulasi dimajukan satu langkah per frame agar posisi dan interpolasi ikut berubah.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+
+    private static final int WIDTH = 900;
+    private static final int HEIGHT = 700;
+
+    @Param({"false", "true"})
+    public boolean overlay;
+
+    private GameViewModel viewModel;
+    private GamePanel panel;
+    private BufferedImage image;
+    private int step;
+
+    @Setup
+    public void setup() throws IOException {
+        viewModel = new GameViewModel(new FileScoreRepository(Files.createTempDirectory("jeff-bench").toFile()));
+        panel = new GamePanel(null, viewModel);
+        panel.setSize(WIDTH, HEIGHT);
+        viewModel.startGame("bench", WIDTH, HEIGHT);
+        viewModel.setViewportSize(WIDTH, HEIGHT);
+        viewModel.setProfiling(overlay);
+        image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @TearDown
+    public void tearDown() {
+        viewModel.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage paintFrame() {
+        step++;
+        viewModel.setMovementMask((step / GameSimulation.STEPS_PER_SECOND & 1) == 0
+                ? GameSimulation.MOVE_LEFT : GameSimulation.MOVE_RIGHT);
+        viewModel.simulationStep();
+        Graphics2D g = image.createGraphics();
+        try {
+            panel.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
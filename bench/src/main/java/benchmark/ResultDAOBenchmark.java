@@ -0,0 +1,111 @@
+package benchmark;
+
+import model.DatabaseConnection;
+import model.Result;
+import model.ResultDAO;
+import model.SessionRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultDAO terhadap H2 in-memory dalam mode MySQL sebagai pengganti server MySQL.
+ * Angkanya tidak sama dengan MySQL sungguhan (tanpa jaringan dan disk), tetapi cukup
+ * untuk menangkap regresi di sisi Java: pool, statement cache, pembuatan query, dan mapping.
+ * Tabel diisi 10.000 pemain sebelum pengukuran.
+ *
+ * saveAll tidak diukur: H2 tidak mengenal fungsi IF() milik MySQL yang dipakai upsert-nya.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djeff.db.url=jdbc:h2:mem:shark_game_db;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+public class ResultDAOBenchmark {
+
+    private static final int PLAYERS = 10_000;
+    private static final int BATCH_SIZE = 32;
+
+    private ResultDAO dao;
+    private final Random random = new Random(42);
+    private final List<SessionRecord> sessions = new ArrayList<>();
+
+    @Setup
+    public void setup() throws SQLException {
+        try (Connection connection = DatabaseConnection.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS thasil (username VARCHAR(255) PRIMARY KEY, skor INT, count INT)");
+            statement.execute("CREATE INDEX IF NOT EXISTS idx_thasil_skor_username ON thasil(skor, username)");
+            statement.execute("CREATE TABLE IF NOT EXISTS triwayat (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "username VARCHAR(255) NOT NULL, skor INT NOT NULL, count INT NOT NULL, played_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS tstatistik (username VARCHAR(255) PRIMARY KEY, "
+                    + "sessions INT NOT NULL DEFAULT 0, total_skor BIGINT NOT NULL DEFAULT 0, "
+                    + "total_count BIGINT NOT NULL DEFAULT 0, best_skor INT NOT NULL, last_played_at TIMESTAMP NULL)");
+            statement.execute("DELETE FROM thasil");
+        }
+        try (Connection connection = DatabaseConnection.getConnection();
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?)")) {
+            for (int i = 0; i < PLAYERS; i++) {
+                insert.setString(1, playerName(i));
+                insert.setInt(2, random.nextInt(5_000));
+                insert.setInt(3, random.nextInt(100));
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        dao = new ResultDAO();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dao.close();
+    }
+
+    @Benchmark
+    public List<Result> topTen() {
+        return dao.getTopResults(10);
+    }
+
+    @Benchmark
+    public List<Result> pageAfterCursor() {
+        return dao.getResultsAfter(2_500, playerName(random.nextInt(PLAYERS)), 20);
+    }
+
+    @Benchmark
+    public Result lookupByUsername() {
+        return dao.getResultByUsername(playerName(random.nextInt(PLAYERS)));
+    }
+
+    @Benchmark
+    public boolean recordSessionBatch() {
+        sessions.clear();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            sessions.add(new SessionRecord(playerName(random.nextInt(PLAYERS)), random.nextInt(5_000),
+                    random.nextInt(100), now));
+        }
+        return dao.recordSessions(sessions);
+    }
+
+    private static String playerName(int i) {
+        return "pemain" + i;
+    }
+}
@@ -0,0 +1,77 @@
+package benchmark;
+
+import model.FileScoreRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import viewmodel.FrameSnapshot;
+import viewmodel.GameSimulation;
+import viewmodel.GameViewModel;
+import viewmodel.HeadlessRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Biaya satu langkah simulasi (1/60 detik permainan).
+ *
+ * - botSessionStep: GameSimulation.update dimainkan bot HeadlessRunner (laso, makanan,
+ *   spawn, skor mengambang), dirata-rata atas satu sesi 60 detik.
+ * - viewModelStep: GameViewModel.simulationStep, termasuk gerakan dan publikasi
+ *   FrameSnapshot. Tanpa tembakan laso, karena itu memutar suara lewat AudioManager.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class SimulationBenchmark {
+
+    private static final int SESSION_STEPS = 60 * GameSimulation.STEPS_PER_SECOND;
+
+    private HeadlessRunner runner;
+    private GameViewModel viewModel;
+    private File repositoryDirectory;
+    private int step;
+
+    @Setup
+    public void setup() throws IOException {
+        runner = new HeadlessRunner(42L, 900, 700);
+        repositoryDirectory = Files.createTempDirectory("jeff-bench").toFile();
+        viewModel = new GameViewModel(new FileScoreRepository(repositoryDirectory));
+        viewModel.startGame("bench", 900, 700);
+    }
+
+    @TearDown
+    public void tearDown() {
+        viewModel.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SESSION_STEPS)
+    public int botSessionStep() {
+        return runner.playSession(SESSION_STEPS)[0];
+    }
+
+    @Benchmark
+    public FrameSnapshot viewModelStep() {
+        // bolak-balik kiri/kanan setiap detik agar pemain tetap bergerak di dalam layar
+        step++;
+        viewModel.setMovementMask((step / GameSimulation.STEPS_PER_SECOND & 1) == 0
+                ? GameSimulation.MOVE_LEFT : GameSimulation.MOVE_RIGHT);
+        viewModel.simulationStep();
+        return viewModel.acquireFrame();
+    }
+}
@@ -40,6 +40,38 @@ CREATE TABLE `thasil` (
 INSERT INTO `thasil` (`username`, `skor`, `count`) VALUES
 ('Dudul', 3870, 79);
 
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `triwayat`
+-- Riwayat setiap sesi permainan (thasil hanya menyimpan skor terbaik).
+--
+
+CREATE TABLE `triwayat` (
+  `id` bigint(20) NOT NULL,
+  `username` varchar(255) NOT NULL,
+  `skor` int(11) NOT NULL,
+  `count` int(11) NOT NULL,
+  `played_at` timestamp NOT NULL DEFAULT current_timestamp()
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
+-- --------------------------------------------------------
+
+--
+-- Table structure for table `tstatistik`
+-- Statistik kumulatif per pemain, diperbarui setiap batch riwayat disimpan
+-- sehingga layar statistik tidak perlu memindai triwayat.
+--
+
+CREATE TABLE `tstatistik` (
+  `username` varchar(255) NOT NULL,
+  `sessions` int(11) NOT NULL DEFAULT 0,
+  `total_skor` bigint(20) NOT NULL DEFAULT 0,
+  `total_count` bigint(20) NOT NULL DEFAULT 0,
+  `best_skor` int(11) NOT NULL,
+  `last_played_at` timestamp NULL DEFAULT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+
 --
 -- Indexes for dumped tables
 --
@@ -49,6 +81,34 @@ INSERT INTO `thasil` (`username`, `skor`, `count`) VALUES
 --
 ALTER TABLE `thasil`
   ADD PRIMARY KEY (`username`);
+
+--
+-- Migration: index untuk papan peringkat (top-N dan keyset pagination).
+-- Query memakai ORDER BY skor DESC, username DESC sehingga index ini cukup
+-- dibaca mundur tanpa filesort. Untuk database yang sudah ada, jalankan:
+--   ALTER TABLE `thasil` ADD KEY `idx_thasil_skor_username` (`skor`, `username`);
+--
+ALTER TABLE `thasil`
+  ADD KEY `idx_thasil_skor_username` (`skor`, `username`);
+
+--
+-- Indexes for table `triwayat`
+--
+ALTER TABLE `triwayat`
+  ADD PRIMARY KEY (`id`),
+  ADD KEY `idx_triwayat_username_played_at` (`username`, `played_at`);
+
+--
+-- Indexes for table `tstatistik`
+--
+ALTER TABLE `tstatistik`
+  ADD PRIMARY KEY (`username`);
+
+--
+-- AUTO_INCREMENT for table `triwayat`
+--
+ALTER TABLE `triwayat`
+  MODIFY `id` bigint(20) NOT NULL AUTO_INCREMENT;
 COMMIT;
 
 /*!40101 SET CHARACTER_SET_CLIENT=@OLD_CHARACTER_SET_CLIENT */;
@@ -10,7 +10,7 @@ import java.util.Map;
  * Kelas AudioManager (Singleton) untuk mengelola semua pemutaran suara dan musik dalam game.
  * Menggunakan satu instance untuk diakses dari seluruh bagian aplikasi.
  */
-public class AudioManager {
+public class AudioManager implements SoundSink {
     // Satu-satunya instance dari AudioManager (Singleton Pattern)
     private static AudioManager instance;
     // Penyimpanan untuk semua klip audio yang sudah dimuat, diakses dengan nama
@@ -81,6 +81,7 @@ public class AudioManager {
      * Memutar efek suara (SFX) satu kali dari awal.
      * @param name Nama kunci dari suara yang akan diputar.
      */
+    @Override
     public void playSound(String name) {
         // Efek suara singkat bisa tetap diputar meskipun musik di-mute.
         Clip clip = sounds.get(name);
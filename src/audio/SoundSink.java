@@ -0,0 +1,17 @@
+package audio;
+
+/**
+ * SoundSink adalah tujuan efek suara dari logika game.
+ * Di aplikasi Swing diisi oleh AudioManager; pada simulasi headless memakai SILENT.
+ */
+public interface SoundSink {
+
+    /** Sink yang mengabaikan semua suara, untuk simulasi tanpa perangkat audio. */
+    SoundSink SILENT = name -> { };
+
+    /**
+     * Memutar efek suara satu kali.
+     * @param name Nama kunci suara (contoh: "eat_sound").
+     */
+    void playSound(String name);
+}
@@ -0,0 +1,429 @@
+package model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConnectionPool menyimpan sejumlah koneksi JDBC fisik yang sudah terbuka dan
+ * meminjamkannya kembali, sehingga handshake TCP dan autentikasi MySQL tidak
+ * diulang untuk setiap query.
+ *
+ * Koneksi yang dipinjamkan adalah proxy: memanggil close() mengembalikan koneksi
+ * ke pool, bukan menutupnya. Setiap koneksi fisik juga memiliki cache
+ * PreparedStatement sendiri berdasarkan teks SQL.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    // Konfigurasi pool
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long validateAfterIdleMs;
+    private final int validationTimeoutSec;
+    private final int statementCacheSize;
+
+    // Semaphore membatasi jumlah koneksi yang boleh dipinjam sekaligus
+    private final Semaphore permits;
+    // Koneksi fisik yang sedang menganggur (LIFO, dijaga oleh lock "this")
+    private final Deque<PhysicalConnection> idle = new ArrayDeque<>();
+    private volatile boolean closed = false;
+
+    // Statistik
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong retiredCount = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * @param maxSize Jumlah maksimum koneksi fisik.
+     * @param acquireTimeoutMs Batas waktu menunggu koneksi kosong sebelum gagal.
+     * @param maxLifetimeMs Umur maksimum koneksi fisik sebelum diganti.
+     * @param validateAfterIdleMs Koneksi yang menganggur lebih lama dari ini divalidasi dulu sebelum dipinjamkan.
+     * @param statementCacheSize Jumlah PreparedStatement yang di-cache per koneksi.
+     */
+    public ConnectionPool(String url, String user, String password, int maxSize, long acquireTimeoutMs,
+                          long maxLifetimeMs, long validateAfterIdleMs, int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize harus lebih dari 0");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.maxLifetimeMs = maxLifetimeMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.validationTimeoutSec = 2;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Meminjam koneksi dari pool. Koneksi wajib ditutup (close) untuk mengembalikannya.
+     * @return Koneksi pinjaman yang siap dipakai.
+     * @throws SQLTimeoutException jika tidak ada koneksi kosong dalam batas waktu.
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool sudah ditutup");
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLTimeoutException("Tidak ada koneksi kosong setelah " + acquireTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Diinterupsi saat menunggu koneksi", e);
+        }
+
+        try {
+            PhysicalConnection physical = takeIdle();
+            if (physical == null) {
+                physical = new PhysicalConnection(DriverManager.getConnection(url, user, password));
+                createdCount.incrementAndGet();
+            }
+            activeCount.incrementAndGet();
+            recordWait(System.nanoTime() - start);
+            return physical.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** Menutup semua koneksi yang menganggur dan menolak peminjaman berikutnya. */
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            for (PhysicalConnection physical : idle) {
+                physical.closeQuietly();
+            }
+            idle.clear();
+        }
+    }
+
+    // Mengambil koneksi menganggur yang masih sehat, membuang yang kedaluwarsa/rusak
+    private PhysicalConnection takeIdle() {
+        while (true) {
+            PhysicalConnection physical;
+            synchronized (this) {
+                physical = idle.pollFirst();
+            }
+            if (physical == null) return null;
+
+            long now = System.currentTimeMillis();
+            if (physical.isExpired(now)) {
+                retire(physical);
+            } else if (now - physical.lastReturnedAt > validateAfterIdleMs && !physical.isValid()) {
+                retire(physical);
+            } else {
+                return physical;
+            }
+        }
+    }
+
+    // Dipanggil oleh proxy saat koneksi pinjaman ditutup
+    private void release(PhysicalConnection physical) {
+        activeCount.decrementAndGet();
+        try {
+            if (closed || physical.isExpired(System.currentTimeMillis()) || !physical.reset()) {
+                retire(physical);
+            } else {
+                physical.lastReturnedAt = System.currentTimeMillis();
+                synchronized (this) {
+                    idle.offerFirst(physical);
+                }
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void retire(PhysicalConnection physical) {
+        retiredCount.incrementAndGet();
+        physical.closeQuietly();
+    }
+
+    private void recordWait(long waitNanos) {
+        acquireCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        long max;
+        do {
+            max = maxWaitNanos.get();
+        } while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos));
+    }
+
+    // =========================================================================
+    // STATISTIK
+    // =========================================================================
+
+    public int getMaxSize() { return maxSize; }
+    public int getActiveCount() { return activeCount.get(); }
+    public synchronized int getIdleCount() { return idle.size(); }
+    public long getAcquireCount() { return acquireCount.get(); }
+    public long getTimeoutCount() { return timeoutCount.get(); }
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getRetiredCount() { return retiredCount.get(); }
+    public long getStatementCacheHits() { return statementCacheHits.get(); }
+    public long getStatementCacheMisses() { return statementCacheMisses.get(); }
+    public long getTotalWaitNanos() { return totalWaitNanos.get(); }
+    public long getMaxWaitNanos() { return maxWaitNanos.get(); }
+
+    public double getAverageWaitMillis() {
+        long count = acquireCount.get();
+        return count == 0 ? 0 : totalWaitNanos.get() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool[active=%d, idle=%d, max=%d, acquired=%d, avgWait=%.3fms, maxWait=%.3fms, "
+                        + "timeouts=%d, created=%d, retired=%d, stmtHit=%d, stmtMiss=%d]",
+                getActiveCount(), getIdleCount(), maxSize, getAcquireCount(), getAverageWaitMillis(),
+                getMaxWaitNanos() / 1_000_000.0, getTimeoutCount(), getCreatedCount(), getRetiredCount(),
+                getStatementCacheHits(), getStatementCacheMisses());
+    }
+
+    // =========================================================================
+    // KONEKSI FISIK & PROXY
+    // =========================================================================
+
+    /** Satu koneksi JDBC asli beserta cache PreparedStatement miliknya. */
+    private final class PhysicalConnection {
+        private final Connection connection;
+        private final long createdAt;
+        private long lastReturnedAt;
+        private final Map<String, CachedStatement> statementCache;
+
+        PhysicalConnection(Connection connection) {
+            this.connection = connection;
+            this.createdAt = System.currentTimeMillis();
+            this.lastReturnedAt = createdAt;
+            // urutan akses: entri pertama adalah statement yang paling lama tidak dipakai (lihat evictIdleStatements)
+            this.statementCache = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new LeasedConnectionHandler(this));
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt > maxLifetimeMs;
+        }
+
+        boolean isValid() {
+            try {
+                return connection.isValid(validationTimeoutSec);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Mengembalikan koneksi ke kondisi bersih sebelum masuk pool lagi
+        boolean reset() {
+            try {
+                if (connection.isClosed()) return false;
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                    connection.setAutoCommit(true);
+                }
+                connection.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        PreparedStatement prepare(String sql) throws SQLException {
+            if (statementCacheSize > 0) {
+                CachedStatement cached = statementCache.get(sql);
+                if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+                    statementCacheHits.incrementAndGet();
+                    cached.inUse = true;
+                    return cached.borrow();
+                }
+                statementCacheMisses.incrementAndGet();
+                if (cached == null || cached.statement.isClosed()) {
+                    // statement yang sudah ditutup (error driver, ditutup server) diganti, bukan dilewati terus
+                    CachedStatement fresh = new CachedStatement(connection.prepareStatement(sql));
+                    fresh.inUse = true;
+                    statementCache.put(sql, fresh);
+                    evictIdleStatements();
+                    return fresh.borrow();
+                }
+                evictIdleStatements();
+            }
+            // Statement yang sama sedang dipakai (atau cache dimatikan): buat yang tidak di-cache
+            return connection.prepareStatement(sql);
+        }
+
+        // LRU: selama cache melebihi batas, statement tidak terpakai yang paling lama tidak dipakai ditutup.
+        // Statement yang sedang dipinjam dilewati; cache menyusut lagi pada prepare berikutnya.
+        private void evictIdleStatements() {
+            if (statementCache.size() <= statementCacheSize) return;
+            for (Iterator<CachedStatement> it = statementCache.values().iterator();
+                 it.hasNext() && statementCache.size() > statementCacheSize; ) {
+                CachedStatement cached = it.next();
+                if (!cached.inUse) {
+                    closeStatementQuietly(cached.statement);
+                    it.remove();
+                }
+            }
+        }
+
+        void closeQuietly() {
+            for (CachedStatement cached : statementCache.values()) {
+                closeStatementQuietly(cached.statement);
+            }
+            statementCache.clear();
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // koneksi memang akan dibuang
+            }
+        }
+    }
+
+    /** PreparedStatement yang tetap hidup selama koneksi fisiknya hidup. */
+    private static final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+
+        CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        PreparedStatement borrow() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new CachedStatementHandler(this));
+        }
+    }
+
+    /** Proxy untuk koneksi pinjaman: close() berarti "kembalikan ke pool". */
+    private final class LeasedConnectionHandler implements InvocationHandler {
+        private final PhysicalConnection physical;
+        private boolean released = false;
+
+        LeasedConnectionHandler(PhysicalConnection physical) {
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(physical);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || physical.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical.connection;
+                default:
+                    break;
+            }
+            if (released) {
+                throw new SQLException("Koneksi sudah dikembalikan ke pool");
+            }
+            if (name.equals("prepareStatement") && args != null && args.length == 1) {
+                return physical.prepare((String) args[0]);
+            }
+            return invokeTarget(physical.connection, method, args);
+        }
+    }
+
+    /** Proxy untuk statement dari cache: close() hanya membersihkan parameter. */
+    private static final class CachedStatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean returned = false;
+
+        CachedStatementHandler(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        try {
+                            // statement yang sudah mati tidak perlu dibersihkan; prepare berikutnya menggantinya
+                            if (!cached.statement.isClosed()) {
+                                cached.statement.clearParameters();
+                                cached.statement.clearBatch();
+                            }
+                        } finally {
+                            cached.inUse = false;
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || cached.statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            if (returned) {
+                throw new SQLException("Statement sudah ditutup");
+            }
+            return invokeTarget(cached.statement, method, args);
+        }
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void closeStatementQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // statement memang akan dibuang
+        }
+    }
+}
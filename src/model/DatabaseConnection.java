@@ -1,26 +1,71 @@
 package model;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/shark_game_db";
-    private static final String USER = "root";
-    private static final String PASSWORD = "";
+    // bisa diganti lewat -Djeff.db.url/-Djeff.db.user/-Djeff.db.password (misalnya database embedded untuk benchmark)
+    private static final String URL = System.getProperty("jeff.db.url",
+            "jdbc:mysql://localhost:3306/shark_game_db?rewriteBatchedStatements=true&connectTimeout=3000");
+    private static final String USER = System.getProperty("jeff.db.user", "root");
+    private static final String PASSWORD = System.getProperty("jeff.db.password", "");
+
+    // konfigurasi connection pool
+    private static final int POOL_MAX_SIZE = 4;
+    private static final long ACQUIRE_TIMEOUT_MS = 3_000;
+    private static final long MAX_LIFETIME_MS = 30 * 60 * 1000;   // ganti koneksi setiap 30 menit
+    private static final long VALIDATE_AFTER_IDLE_MS = 30 * 1000; // cek koneksi yang menganggur > 30 detik
+    private static final int STATEMENT_CACHE_SIZE = 16;
+
+    private static ConnectionPool pool;
 
     /**
-     * @return Connection object yang baru dan terbuka.
+     * Meminjam koneksi dari connection pool.
+     * Koneksi harus ditutup setelah dipakai agar kembali ke pool.
+     * @return Connection object yang terbuka, atau null jika gagal terhubung.
      */
     public static Connection getConnection() {
         Connection connection = null;
+        long start = System.nanoTime();
         try {
-            // buat instance koneksi baru
-            connection = DriverManager.getConnection(URL, USER, PASSWORD);
+            connection = getPool().getConnection();
+            QueryMetrics.getInstance().recordAcquire(System.nanoTime() - start, true);
         } catch (SQLException e) {
+            QueryMetrics.getInstance().recordAcquire(System.nanoTime() - start, false);
             System.err.println("Gagal terhubung ke database: " + e.getMessage());
             e.printStackTrace();
         }
         return connection;
     }
-}
\ No newline at end of file
+
+    /**
+     * Mencoba meminjam satu koneksi tanpa mencetak error.
+     * @return true jika database bisa dihubungi.
+     */
+    public static boolean isAvailable() {
+        try (Connection connection = getPool().getConnection()) {
+            return connection != null;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return Pool yang dipakai bersama, dibuat saat pertama kali dibutuhkan.
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(URL, USER, PASSWORD, POOL_MAX_SIZE, ACQUIRE_TIMEOUT_MS,
+                    MAX_LIFETIME_MS, VALIDATE_AFTER_IDLE_MS, STATEMENT_CACHE_SIZE);
+        }
+        return pool;
+    }
+
+    /** Menutup semua koneksi di pool (dipanggil saat aplikasi berhenti). */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+}
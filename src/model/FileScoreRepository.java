@@ -0,0 +1,528 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FileScoreRepository menyimpan skor terbaik tanpa server database.
+ *
+ * - scores.log: log append-only. Setiap perubahan ditambahkan sebagai record baru
+ *   [int panjang][short panjangNama][nama UTF-8][int skor][int count].
+ * - scores.idx: hash table open-addressing yang di-memory-map, berisi
+ *   [int hash][long offset+1] per username yang menunjuk ke record terbarunya.
+ *
+ * - sessions.log: riwayat setiap sesi (append-only), dan stats.dat: snapshot
+ *   statistik kumulatif per pemain beserta panjang sessions.log yang sudah tercakup.
+ *   Saat dibuka, hanya ekor riwayat setelah snapshot yang dibaca ulang.
+ *
+ * Lookup satu pemain hanya butuh beberapa probe di index ditambah satu baca record.
+ * Index bisa selalu dibangun ulang dari log, jadi hanya log yang di-force ke disk.
+ *
+ * Urutan papan peringkat disimpan di memori dalam ScoreRankTree yang dibangun sekali
+ * saat dibuka dan diperbarui setiap append, jadi top-N dan halaman keyset/offset
+ * hanya O(log n + limit) tanpa membaca log atau mengurutkan ulang.
+ */
+public class FileScoreRepository implements ScoreRepository {
+
+    private static final int INDEX_MAGIC = 0x4A454646; // "JEFF"
+    private static final int HEADER_SIZE = 24;         // magic, capacity, size, (cadangan), logLength
+    private static final int SLOT_SIZE = 12;           // hash + offset
+    private static final int INITIAL_CAPACITY = 1024;  // harus pangkat dua
+    private static final double MAX_LOAD_FACTOR = 0.6;
+    private static final int RECORD_FIXED_SIZE = 2 + 4 + 4; // panjangNama + skor + count
+    private static final int SESSION_FIXED_SIZE = 2 + 4 + 4 + 8; // panjangNama + skor + count + playedAt
+    private static final int STATS_MAGIC = 0x4A535431; // "JST1"
+
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private MappedByteBuffer index;
+    private int capacity;
+    private int size;
+    private long logLength;
+    private final ByteBuffer scratch = ByteBuffer.allocate(1024);
+    // Record terbaru setiap pemain, terurut seperti papan peringkat
+    private final ScoreRankTree leaderboard = new ScoreRankTree(LeaderboardCache.LEADERBOARD_ORDER);
+
+    // Riwayat sesi & statistik kumulatif
+    private final FileChannel sessionChannel;
+    private final File statsFile;
+    private long sessionLogLength;
+    private final Map<String, PlayerStats> stats = new HashMap<>();
+
+    /**
+     * Membuka (atau membuat) penyimpanan di folder tersebut.
+     * @param directory Folder untuk scores.log dan scores.idx.
+     */
+    public FileScoreRepository(File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Tidak bisa membuat folder " + directory);
+        }
+        this.logChannel = FileChannel.open(new File(directory, "scores.log").toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.indexChannel = FileChannel.open(new File(directory, "scores.idx").toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.logLength = logChannel.size();
+
+        if (!openExistingIndex()) {
+            rebuildIndex();
+        }
+        loadLeaderboard();
+
+        this.sessionChannel = FileChannel.open(new File(directory, "sessions.log").toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.statsFile = new File(directory, "stats.dat");
+        this.sessionLogLength = sessionChannel.size();
+        loadStats();
+    }
+
+    // =========================================================================
+    // QUERY
+    // =========================================================================
+
+    @Override
+    public synchronized List<Result> getAllResult() {
+        return copyRange(0, leaderboard.size());
+    }
+
+    @Override
+    public synchronized List<Result> getTopResults(int limit) {
+        return copyRange(0, limit);
+    }
+
+    @Override
+    public synchronized List<Result> getResultsAfter(int lastSkor, String lastUsername, int limit) {
+        Result cursor = new Result(lastUsername, lastSkor, 0);
+        int start = leaderboard.indexOf(cursor);
+        if (start < leaderboard.size() && LeaderboardCache.LEADERBOARD_ORDER.compare(leaderboard.select(start), cursor) == 0) {
+            start++; // lewati baris kursor itu sendiri
+        }
+        return copyRange(start, limit);
+    }
+
+    @Override
+    public synchronized List<Result> getResultsPage(int offset, int limit) {
+        return copyRange(offset, limit);
+    }
+
+    @Override
+    public synchronized int countResults() {
+        return size;
+    }
+
+    @Override
+    public synchronized Result getResultByUsername(String username) {
+        int slot = findSlot(username);
+        long offset = slotOffset(slot);
+        return offset >= 0 ? readRecord(offset) : null;
+    }
+
+    // =========================================================================
+    // PERUBAHAN
+    // =========================================================================
+
+    @Override
+    public synchronized void saveOrUpdate(Result sessionResult) {
+        try {
+            upsertIfHigher(sessionResult);
+            logChannel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized boolean saveAll(Collection<Result> sessionResults) {
+        try {
+            for (Result result : sessionResults) {
+                upsertIfHigher(result);
+            }
+            logChannel.force(false);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void createUserIfNotExist(String username) {
+        if (!isStorableName(username)) return;
+        try {
+            if (slotOffset(findSlot(username)) < 0) {
+                append(new Result(username, 0, 0), null);
+                logChannel.force(false);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public synchronized boolean recordSessions(Collection<SessionRecord> sessions) {
+        List<SessionRecord> accepted = new ArrayList<>(sessions.size());
+        for (SessionRecord session : sessions) {
+            if (isStorableName(session.getUsername())) accepted.add(session);
+        }
+        if (accepted.isEmpty()) return true;
+        List<byte[]> names = new ArrayList<>(accepted.size());
+        int totalSize = 0;
+        for (SessionRecord session : accepted) {
+            byte[] name = session.getUsername().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            totalSize += 4 + SESSION_FIXED_SIZE + name.length;
+        }
+
+        // satu kali tulis untuk seluruh batch
+        ByteBuffer batch = ByteBuffer.allocate(totalSize);
+        int i = 0;
+        for (SessionRecord session : accepted) {
+            byte[] name = names.get(i++);
+            batch.putInt(SESSION_FIXED_SIZE + name.length);
+            batch.putShort((short) name.length);
+            batch.put(name);
+            batch.putInt(session.getSkor());
+            batch.putInt(session.getCount());
+            batch.putLong(session.getPlayedAt());
+        }
+        batch.flip();
+        try {
+            while (batch.hasRemaining()) {
+                sessionChannel.write(batch, sessionLogLength + batch.position());
+            }
+            sessionChannel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        sessionLogLength += totalSize;
+
+        for (SessionRecord session : accepted) {
+            stats.computeIfAbsent(session.getUsername(), PlayerStats::new).add(session);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized PlayerStats getPlayerStats(String username) {
+        PlayerStats playerStats = stats.get(username);
+        if (playerStats == null) return null;
+        // salinan, agar pemanggil tidak mengubah statistik yang tersimpan
+        PlayerStats copy = new PlayerStats(username);
+        copy.merge(playerStats);
+        return copy;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            logChannel.force(true);
+            index.force();
+            logChannel.close();
+            indexChannel.close();
+            saveStats();
+            sessionChannel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Aturan "best score": baru dimasukkan, lama hanya ditimpa jika skor lebih tinggi
+    private void upsertIfHigher(Result result) throws IOException {
+        if (!isStorableName(result.getUsername())) return;
+        long offset = slotOffset(findSlot(result.getUsername()));
+        Result stored = offset >= 0 ? readRecord(offset) : null;
+        if (stored == null || result.getSkor() > stored.getSkor()) {
+            append(result, stored);
+        }
+    }
+
+    // Panjang nama ditulis sebagai short; nama yang lebih panjang dari kolom username database
+    // ditolak di sini agar tidak terpotong diam-diam dan merusak log. Batch lainnya tetap disimpan.
+    private static boolean isStorableName(String username) {
+        if (username.length() <= Result.MAX_USERNAME_LENGTH) return true;
+        System.err.println("Username lebih dari " + Result.MAX_USERNAME_LENGTH + " karakter tidak disimpan: "
+                + username.substring(0, 32) + "...");
+        return false;
+    }
+
+    // =========================================================================
+    // LOG
+    // =========================================================================
+
+    /** @param previous Record pemain ini sebelumnya (null jika pemain baru), untuk memindahkan urutannya. */
+    private void append(Result result, Result previous) throws IOException {
+        byte[] name = result.getUsername().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = ByteBuffer.allocate(4 + RECORD_FIXED_SIZE + name.length);
+        record.putInt(RECORD_FIXED_SIZE + name.length);
+        record.putShort((short) name.length);
+        record.put(name);
+        record.putInt(result.getSkor());
+        record.putInt(result.getCount());
+        record.flip();
+
+        long recordOffset = logLength;
+        while (record.hasRemaining()) {
+            logChannel.write(record, recordOffset + record.position());
+        }
+        logLength += record.limit();
+        putIndex(result.getUsername(), recordOffset);
+        index.putLong(16, logLength);
+
+        if (previous != null) leaderboard.remove(previous);
+        leaderboard.insert(new Result(result.getUsername(), result.getSkor(), result.getCount()));
+    }
+
+    private Result readRecord(long offset) {
+        try {
+            ByteBuffer lengthBuffer = readFully(logChannel, offset, 4);
+            int bodyLength = lengthBuffer.getInt();
+            ByteBuffer body = readFully(logChannel, offset + 4, bodyLength);
+            byte[] name = new byte[body.getShort() & 0xFFFF];
+            body.get(name);
+            return new Result(new String(name, StandardCharsets.UTF_8), body.getInt(), body.getInt());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = length <= scratch.capacity() ? scratch : ByteBuffer.allocate(length);
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Record terpotong pada offset " + position);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    // =========================================================================
+    // RIWAYAT & STATISTIK
+    // =========================================================================
+
+    // Memuat snapshot statistik lalu menerapkan sesi yang ditulis setelah snapshot dibuat
+    private void loadStats() throws IOException {
+        long coveredLength = 0;
+        if (statsFile.isFile()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(statsFile)))) {
+                if (in.readInt() == STATS_MAGIC) {
+                    coveredLength = in.readLong();
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String username = in.readUTF();
+                        stats.put(username, new PlayerStats(username, in.readInt(), in.readLong(),
+                                in.readLong(), in.readInt(), in.readLong()));
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Snapshot statistik rusak, dibangun ulang dari riwayat: " + e.getMessage());
+                stats.clear();
+                coveredLength = 0;
+            }
+        }
+        if (coveredLength > sessionLogLength) {
+            // snapshot lebih baru dari riwayat (riwayat terpotong), hitung ulang dari awal
+            stats.clear();
+            coveredLength = 0;
+        }
+
+        long position = coveredLength;
+        while (position + 4 <= sessionLogLength) {
+            int bodyLength = readFully(sessionChannel, position, 4).getInt();
+            if (bodyLength < SESSION_FIXED_SIZE || position + 4 + bodyLength > sessionLogLength) break;
+            ByteBuffer body = readFully(sessionChannel, position + 4, bodyLength);
+            byte[] name = new byte[body.getShort() & 0xFFFF];
+            body.get(name);
+            SessionRecord session = new SessionRecord(new String(name, StandardCharsets.UTF_8),
+                    body.getInt(), body.getInt(), body.getLong());
+            stats.computeIfAbsent(session.getUsername(), PlayerStats::new).add(session);
+            position += 4 + bodyLength;
+        }
+        if (position < sessionLogLength) {
+            sessionChannel.truncate(position);
+            sessionLogLength = position;
+        }
+    }
+
+    // Snapshot ditulis ke file sementara lalu di-rename agar tidak pernah setengah jadi
+    private void saveStats() throws IOException {
+        File temp = new File(statsFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            out.writeInt(STATS_MAGIC);
+            out.writeLong(sessionLogLength);
+            out.writeInt(stats.size());
+            for (PlayerStats playerStats : stats.values()) {
+                out.writeUTF(playerStats.getUsername());
+                out.writeInt(playerStats.getSessions());
+                out.writeLong(playerStats.getTotalSkor());
+                out.writeLong(playerStats.getTotalCount());
+                out.writeInt(playerStats.getBestSkor());
+                out.writeLong(playerStats.getLastPlayedAt());
+            }
+        }
+        Files.move(temp.toPath(), statsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // =========================================================================
+    // INDEX
+    // =========================================================================
+
+    private boolean openExistingIndex() throws IOException {
+        long fileSize = indexChannel.size();
+        if (fileSize < HEADER_SIZE) return false;
+        MappedByteBuffer mapped = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+        int storedCapacity = mapped.getInt(4);
+        // kapasitas dari file yang rusak bisa bernilai apa saja
+        if (storedCapacity <= 0) return false;
+        boolean valid = mapped.getInt(0) == INDEX_MAGIC
+                && Integer.bitCount(storedCapacity) == 1
+                && fileSize >= HEADER_SIZE + (long) storedCapacity * SLOT_SIZE
+                && mapped.getLong(16) == logLength; // index harus sesuai dengan isi log
+        if (!valid) return false;
+        this.index = mapped;
+        this.capacity = storedCapacity;
+        this.size = mapped.getInt(8);
+        return true;
+    }
+
+    // Membangun index dari nol dengan membaca log dari awal sampai record utuh terakhir
+    private void rebuildIndex() throws IOException {
+        mapNewIndex(INITIAL_CAPACITY);
+        long position = 0;
+        while (position + 4 <= logLength) {
+            int bodyLength = readFully(logChannel, position, 4).getInt();
+            if (bodyLength < RECORD_FIXED_SIZE || position + 4 + bodyLength > logLength) break;
+            putIndex(readRecord(position).getUsername(), position);
+            position += 4 + bodyLength;
+        }
+        if (position < logLength) {
+            // sisa record yang terpotong (misalnya aplikasi mati saat menulis)
+            logChannel.truncate(position);
+            logLength = position;
+        }
+        index.putLong(16, logLength);
+    }
+
+    // File index tidak di-truncate (Windows menolak truncate pada file yang sedang di-map),
+    // cukup di-map ulang dengan ukuran baru lalu slotnya dikosongkan
+    private void mapNewIndex(int newCapacity) throws IOException {
+        this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * SLOT_SIZE);
+        for (int slot = 0; slot < newCapacity; slot++) {
+            index.putInt(slotPosition(slot), 0);
+            index.putLong(slotPosition(slot) + 4, 0);
+        }
+        this.capacity = newCapacity;
+        this.size = 0;
+        index.putInt(0, INDEX_MAGIC);
+        index.putInt(4, newCapacity);
+        index.putInt(8, 0);
+        index.putLong(16, -1); // belum sinkron dengan log
+    }
+
+    private void putIndex(String username, long recordOffset) throws IOException {
+        int slot = findSlot(username);
+        if (slotOffset(slot) < 0) {
+            if (size + 1 > capacity * MAX_LOAD_FACTOR) {
+                grow();
+                slot = findSlot(username);
+            }
+            size++;
+            index.putInt(8, size);
+            index.putInt(slotPosition(slot), hash(username));
+        }
+        index.putLong(slotPosition(slot) + 4, recordOffset + 1);
+    }
+
+    private void grow() throws IOException {
+        int[] hashes = new int[size];
+        long[] offsets = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            long offset = slotOffset(slot);
+            if (offset >= 0) {
+                hashes[count] = index.getInt(slotPosition(slot));
+                offsets[count] = offset;
+                count++;
+            }
+        }
+        mapNewIndex(capacity * 2);
+        for (int i = 0; i < count; i++) {
+            int slot = hashes[i] & (capacity - 1);
+            while (slotOffset(slot) >= 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            index.putInt(slotPosition(slot), hashes[i]);
+            index.putLong(slotPosition(slot) + 4, offsets[i] + 1);
+        }
+        size = count;
+        index.putInt(8, size);
+        index.putLong(16, logLength);
+    }
+
+    // Linear probing: mengembalikan slot milik username, atau slot kosong pertama
+    private int findSlot(String username) {
+        int hash = hash(username);
+        int slot = hash & (capacity - 1);
+        while (true) {
+            long offset = slotOffset(slot);
+            if (offset < 0) return slot;
+            if (index.getInt(slotPosition(slot)) == hash && readRecord(offset).getUsername().equals(username)) {
+                return slot;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+    }
+
+    private long slotOffset(int slot) {
+        return index.getLong(slotPosition(slot) + 4) - 1; // 0 di file berarti slot kosong
+    }
+
+    private static int slotPosition(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+    private static int hash(String username) {
+        int h = username.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    // Membaca record terbaru setiap pemain sekali saat dibuka
+    private void loadLeaderboard() {
+        for (int slot = 0; slot < capacity; slot++) {
+            long offset = slotOffset(slot);
+            if (offset >= 0) {
+                leaderboard.insert(readRecord(offset));
+            }
+        }
+    }
+
+    // Salinan, karena Result bisa diubah pemanggil sedangkan tree memegang urutannya
+    private List<Result> copyRange(int from, int limit) {
+        List<Result> rows = leaderboard.range(from, limit);
+        List<Result> copies = new ArrayList<>(rows.size());
+        for (Result row : rows) {
+            copies.add(new Result(row.getUsername(), row.getSkor(), row.getCount()));
+        }
+        return copies;
+    }
+}
@@ -4,23 +4,31 @@ import java.awt.Color;
 import java.awt.Point;
 
 public class FloatingScore {
-    private final String text;
-    private final Color color;
+    private String text;
+    private Color color;
     private final Point.Float position;
-    private int lifespan; // durasi dalam frame/tick
+    private float previousY; // posisi y pada langkah simulasi sebelumnya (untuk interpolasi)
+    private int lifespan; // durasi dalam langkah simulasi
     private final float yVelocity = -0.5f; // Kecepatan gerakan ke atas
 
-    private final int MAX_LIFESPAN = 70; // teks akan hilang setelah sekitar 70 frame
+    private final int MAX_LIFESPAN = 70; // teks akan hilang setelah 70 langkah simulasi
 
     // constructor
     public FloatingScore(String text, Point startPosition, Color color) {
+        this.position = new Point.Float();
+        reset(text, startPosition, color);
+    }
+
+    // memakai ulang objek yang sudah mati (pool di GameSimulation), tanpa alokasi baru
+    public void reset(String text, Point startPosition, Color color) {
         this.text = text;
         this.color = color;
-        this.position = new Point.Float(startPosition.x, startPosition.y);
+        this.position.setLocation(startPosition.x, startPosition.y);
+        this.previousY = position.y;
         this.lifespan = MAX_LIFESPAN;
     }
 
-    // metode ini akan dipanggil di setiap frame game loop
+    // metode ini akan dipanggil di setiap langkah simulasi
     public void update() {
         if (isAlive()) {
             position.y += yVelocity; // Gerakkan ke atas
@@ -28,6 +36,11 @@ public class FloatingScore {
         }
     }
 
+    // menyimpan posisi sekarang sebelum langkah simulasi berikutnya
+    public void savePreviousPosition() {
+        previousY = position.y;
+    }
+
     public boolean isAlive() {
         return lifespan > 0;
     }
@@ -36,6 +49,7 @@ public class FloatingScore {
     public String getText() { return text; }
     public Color getColor() { return color; }
     public Point.Float getPosition() { return position; }
+    public float getPreviousY() { return previousY; }
     public int getLifespan() { return lifespan; }
     public int getMaxLifespan() { return MAX_LIFESPAN; }
 }
\ No newline at end of file
@@ -0,0 +1,188 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * FoodCatalog adalah daftar jenis makanan yang dibaca sekali dari file katalog
+ * (default: resources/data/foods.csv) ke dalam array ringkas.
+ *
+ * Indeks array adalah type id yang dipakai bersama oleh FoodStore, statistik spawn,
+ * dan cache gambar di View, jadi tidak ada lagi pencarian berdasarkan nama.
+ *
+ * Pemilihan jenis makanan saat spawn memakai alias method (Vose) dengan bilangan bulat:
+ * satu nextInt untuk kolom dan satu nextInt untuk ambang, O(1) berapa pun besar katalog
+ * dan apa pun bobotnya, dan hasilnya persis sama di semua JVM (penting untuk replay).
+ */
+public class FoodCatalog {
+
+    public static final String DEFAULT_RESOURCE = "/data/foods.csv";
+    private static final String CATALOG_PROPERTY = "jeff.food.catalog"; // file katalog lain, misalnya untuk event
+
+    private final String[] names;
+    private final int[] values;
+    private final Food.FoodType[] kinds;
+    private final int[] weights;
+    private final String[] imageFiles;
+
+    // Tabel alias: kolom i dipilih seragam, lalu i jika nextInt(totalWeight) < threshold[i], selain itu alias[i]
+    private final int totalWeight;
+    private final int[] thresholds;
+    private final int[] aliases;
+
+    public FoodCatalog(String[] names, int[] values, int[] weights, String[] imageFiles) {
+        int n = names.length;
+        if (n == 0 || values.length != n || weights.length != n || imageFiles.length != n) {
+            throw new IllegalArgumentException("Katalog makanan kosong atau panjang kolomnya tidak sama");
+        }
+        this.names = names.clone();
+        this.values = values.clone();
+        this.weights = weights.clone();
+        this.imageFiles = imageFiles.clone();
+        this.kinds = new Food.FoodType[n];
+        long total = 0;
+        for (int i = 0; i < n; i++) {
+            if (weights[i] <= 0) throw new IllegalArgumentException("Bobot makanan '" + names[i] + "' harus > 0");
+            kinds[i] = values[i] > 0 ? Food.FoodType.POSITIVE : Food.FoodType.NEGATIVE;
+            total += weights[i];
+        }
+        if (total > Integer.MAX_VALUE) throw new IllegalArgumentException("Total bobot katalog terlalu besar");
+        this.totalWeight = (int) total;
+        this.thresholds = new int[n];
+        this.aliases = new int[n];
+        buildAliasTable();
+    }
+
+    /**
+     * Vose: setiap kolom berkapasitas totalWeight, bobot jenis i diskalakan menjadi weights[i] * n.
+     * Kolom yang kurang penuh diisi sisa dari jenis yang kelebihan.
+     */
+    private void buildAliasTable() {
+        int n = names.length;
+        long[] scaled = new long[n];
+        int[] small = new int[n], large = new int[n];
+        int smallCount = 0, largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (long) weights[i] * n;
+            if (scaled[i] < totalWeight) small[smallCount++] = i;
+            else large[largeCount++] = i;
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = (int) scaled[less];
+            aliases[less] = more;
+            scaled[more] -= totalWeight - scaled[less];
+            if (scaled[more] < totalWeight) small[smallCount++] = more;
+            else large[largeCount++] = more;
+        }
+        // sisa kolom sudah tepat penuh (aritmetika bulat, tanpa galat pembulatan)
+        while (largeCount > 0) {
+            int full = large[--largeCount];
+            thresholds[full] = totalWeight;
+            aliases[full] = full;
+        }
+        while (smallCount > 0) {
+            int full = small[--smallCount];
+            thresholds[full] = totalWeight;
+            aliases[full] = full;
+        }
+    }
+
+    /** @return Type id acak sesuai bobot, dalam O(1). */
+    public int sample(Random random) {
+        int column = random.nextInt(names.length);
+        return random.nextInt(totalWeight) < thresholds[column] ? column : aliases[column];
+    }
+
+    // =========================================================================
+    // MEMUAT KATALOG
+    // =========================================================================
+
+    private static FoodCatalog defaultCatalog;
+
+    /**
+     * @return Katalog bawaan, dibaca sekali dari file jeff.food.catalog jika diisi,
+     *         atau dari resource /data/foods.csv.
+     */
+    public static synchronized FoodCatalog getDefault() {
+        if (defaultCatalog == null) {
+            String file = System.getProperty(CATALOG_PROPERTY);
+            try (InputStream in = file != null ? new FileInputStream(file)
+                    : FoodCatalog.class.getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in == null) throw new IOException("Katalog makanan tidak ditemukan: " + DEFAULT_RESOURCE);
+                defaultCatalog = load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Gagal memuat katalog makanan", e);
+            }
+        }
+        return defaultCatalog;
+    }
+
+    /**
+     * Membaca katalog berformat "nama,skor,bobot,gambar" per baris; baris kosong dan
+     * baris yang diawali '#' dilewati.
+     */
+    public static FoodCatalog load(InputStream in) throws IOException {
+        List<String> names = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        List<String> images = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] fields = line.split(",");
+            if (fields.length != 4) {
+                throw new IOException("Katalog makanan baris " + lineNumber + ": butuh 4 kolom (nama,skor,bobot,gambar)");
+            }
+            try {
+                names.add(fields[0].trim().intern());
+                values.add(Integer.parseInt(fields[1].trim()));
+                weights.add(Integer.parseInt(fields[2].trim()));
+                images.add(fields[3].trim());
+            } catch (NumberFormatException e) {
+                throw new IOException("Katalog makanan baris " + lineNumber + ": skor/bobot bukan angka", e);
+            }
+        }
+        int n = names.size();
+        int[] valueArray = new int[n];
+        int[] weightArray = new int[n];
+        for (int i = 0; i < n; i++) {
+            valueArray[i] = values.get(i);
+            weightArray[i] = weights.get(i);
+        }
+        try {
+            return new FoodCatalog(names.toArray(new String[0]), valueArray, weightArray, images.toArray(new String[0]));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    // =========================================================================
+    // GETTERS (indeks = type id)
+    // =========================================================================
+
+    public int size() { return names.length; }
+    public String getName(int typeId) { return names[typeId]; }
+    public int getValue(int typeId) { return values[typeId]; }
+    public Food.FoodType getKind(int typeId) { return kinds[typeId]; }
+    public int getWeight(int typeId) { return weights[typeId]; }
+    public String getImageFile(int typeId) { return imageFiles[typeId]; }
+    public int getTotalWeight() { return totalWeight; }
+
+    public String[] getNames() { return names.clone(); }
+    public int[] getValues() { return values.clone(); }
+    public Food.FoodType[] getKinds() { return kinds.clone(); }
+}
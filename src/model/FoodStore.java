@@ -0,0 +1,216 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * FoodStore menyimpan semua makanan aktif sebagai struct-of-arrays: posisi, kecepatan,
+ * status, dan id jenis masing-masing di array primitif paralel.
+ *
+ * - Menghapus memakai swap-remove (slot terakhir dipindah ke slot yang kosong), O(1) tanpa menyalin.
+ * - Setiap makanan punya id stabil selama hidupnya (dipakai misalnya oleh laso);
+ *   id yang sudah dihapus dipakai ulang.
+ * - Indeks spasial (SpatialGrid) ikut diperbarui setiap kali posisi berubah.
+ *
+ * Setelah kapasitas cukup, menambah, memindah, dan menghapus tidak mengalokasikan objek.
+ * Kelas ini tidak thread-safe; View membaca lewat FoodView di thread yang sama dengan simulasi.
+ */
+public class FoodStore implements FoodView {
+
+    private static final Food.FoodState[] STATES = Food.FoodState.values();
+    private static final byte STATE_DEFAULT = (byte) Food.FoodState.DEFAULT.ordinal();
+    // bucket grid disiapkan sebesar kapasitas store (tanpa alokasi saat bermain), tetapi
+    // dibatasi agar store besar tidak memakan bucketCount * kapasitas int
+    private static final int MAX_PRESIZED_BUCKET = 64;
+
+    // Tabel jenis makanan (indeks = type id)
+    private final String[] typeNames;
+    private final int[] typeValues;
+    private final Food.FoodType[] typeKinds;
+
+    // Data per slot (0..size-1)
+    private int size = 0;
+    private int[] ids;
+    private int[] xs, ys;
+    private int[] previousXs, previousYs;
+    private int[] speeds;
+    private int[] typeIds;
+    private byte[] states;
+
+    // Data per id
+    private int[] slotOfId;    // -1 jika id tidak dipakai
+    private int[] freeIds;     // tumpukan id yang bisa dipakai ulang
+    private int freeCount = 0;
+    private int nextId = 0;
+
+    private final SpatialGrid grid;
+    // filter per status untuk SpatialGrid, dibuat sekali agar query tidak mengalokasikan lambda
+    private final IntPredicate[] stateFilters = new IntPredicate[STATES.length];
+
+    /**
+     * @param typeNames Nama aset per jenis makanan.
+     * @param typeValues Nilai skor per jenis makanan.
+     * @param typeKinds Positif/negatif per jenis makanan.
+     * @param initialCapacity Kapasitas awal (array membesar otomatis jika perlu).
+     * @param gridCellSize Ukuran sel indeks spasial.
+     * @param gridBuckets Jumlah bucket indeks spasial.
+     */
+    public FoodStore(String[] typeNames, int[] typeValues, Food.FoodType[] typeKinds,
+                     int initialCapacity, int gridCellSize, int gridBuckets) {
+        this.typeNames = typeNames.clone();
+        this.typeValues = typeValues.clone();
+        this.typeKinds = typeKinds.clone();
+        int capacity = Math.max(1, initialCapacity);
+        this.ids = new int[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.previousXs = new int[capacity];
+        this.previousYs = new int[capacity];
+        this.speeds = new int[capacity];
+        this.typeIds = new int[capacity];
+        this.states = new byte[capacity];
+        this.slotOfId = new int[capacity];
+        Arrays.fill(slotOfId, -1);
+        this.freeIds = new int[capacity];
+        this.grid = new SpatialGrid(gridCellSize, gridBuckets, Math.min(capacity, MAX_PRESIZED_BUCKET));
+        this.grid.ensureCapacity(capacity);
+        for (Food.FoodState state : STATES) {
+            byte wanted = (byte) state.ordinal();
+            stateFilters[state.ordinal()] = id -> states[slotOfId[id]] == wanted;
+        }
+    }
+
+    /**
+     * Menambah makanan baru dengan status DEFAULT.
+     * @return Id stabil makanan tersebut.
+     */
+    public int add(int typeId, int x, int y, int speed) {
+        if (size == ids.length) {
+            growSlots(size * 2);
+        }
+        int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+        if (id >= slotOfId.length) {
+            int oldLength = slotOfId.length;
+            slotOfId = Arrays.copyOf(slotOfId, Math.max(id + 1, oldLength * 2));
+            Arrays.fill(slotOfId, oldLength, slotOfId.length, -1);
+            grid.ensureCapacity(slotOfId.length);
+        }
+
+        int slot = size++;
+        ids[slot] = id;
+        xs[slot] = x;
+        ys[slot] = y;
+        previousXs[slot] = x;
+        previousYs[slot] = y;
+        speeds[slot] = speed;
+        typeIds[slot] = typeId;
+        states[slot] = STATE_DEFAULT;
+        slotOfId[id] = slot;
+        grid.insert(id, x, y);
+        return id;
+    }
+
+    /** Menghapus makanan dengan swap-remove: slot terakhir pindah ke slot yang dihapus. */
+    public void remove(int id) {
+        int slot = slotOf(id);
+        if (slot < 0) return;
+        int last = --size;
+        if (slot != last) {
+            int movedId = ids[last];
+            ids[slot] = movedId;
+            xs[slot] = xs[last];
+            ys[slot] = ys[last];
+            previousXs[slot] = previousXs[last];
+            previousYs[slot] = previousYs[last];
+            speeds[slot] = speeds[last];
+            typeIds[slot] = typeIds[last];
+            states[slot] = states[last];
+            slotOfId[movedId] = slot;
+        }
+        slotOfId[id] = -1;
+        grid.remove(id);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    public void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            slotOfId[ids[slot]] = -1;
+        }
+        size = 0;
+        freeCount = 0;
+        nextId = 0;
+        grid.clear();
+    }
+
+    /** @return Slot makanan dengan id ini, atau -1 jika sudah dihapus. */
+    public int slotOf(int id) {
+        return id >= 0 && id < slotOfId.length ? slotOfId[id] : -1;
+    }
+
+    /** Menggerakkan makanan pada slot ini sesuai kecepatannya, hanya jika statusnya DEFAULT. */
+    public void move(int slot) {
+        if (states[slot] == STATE_DEFAULT) {
+            xs[slot] += speeds[slot];
+            grid.update(ids[slot], xs[slot], ys[slot]);
+        }
+    }
+
+    public void setPosition(int slot, int x, int y) {
+        xs[slot] = x;
+        ys[slot] = y;
+        grid.update(ids[slot], x, y);
+    }
+
+    public void setState(int slot, Food.FoodState state) {
+        states[slot] = (byte) state.ordinal();
+    }
+
+    /** Menyimpan posisi sekarang sebelum langkah simulasi berikutnya (untuk interpolasi). */
+    public void savePreviousPositions() {
+        System.arraycopy(xs, 0, previousXs, 0, size);
+        System.arraycopy(ys, 0, previousYs, 0, size);
+    }
+
+    /**
+     * Mencari makanan terdekat dengan status tertentu yang jaraknya kurang dari radius.
+     * Hanya sel grid di sekitar titik yang diperiksa.
+     * @return Id makanan, atau -1 jika tidak ada.
+     */
+    public int findNearest(int x, int y, int radius, Food.FoodState state) {
+        return grid.findNearest(x, y, radius, stateFilters[state.ordinal()]);
+    }
+
+    private void growSlots(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        previousXs = Arrays.copyOf(previousXs, capacity);
+        previousYs = Arrays.copyOf(previousYs, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        typeIds = Arrays.copyOf(typeIds, capacity);
+        states = Arrays.copyOf(states, capacity);
+    }
+
+    // =========================================================================
+    // FoodView
+    // =========================================================================
+
+    @Override public int size() { return size; }
+    @Override public int getId(int slot) { return ids[slot]; }
+    @Override public int getX(int slot) { return xs[slot]; }
+    @Override public int getY(int slot) { return ys[slot]; }
+    @Override public int getPreviousX(int slot) { return previousXs[slot]; }
+    @Override public int getPreviousY(int slot) { return previousYs[slot]; }
+    @Override public int getTypeId(int slot) { return typeIds[slot]; }
+    @Override public int getSpeed(int slot) { return speeds[slot]; }
+    @Override public String getName(int slot) { return typeNames[typeIds[slot]]; }
+    @Override public int getValue(int slot) { return typeValues[typeIds[slot]]; }
+    @Override public Food.FoodType getType(int slot) { return typeKinds[typeIds[slot]]; }
+    @Override public Food.FoodState getState(int slot) { return STATES[states[slot]]; }
+
+    /** @return Jumlah jenis makanan di tabel. */
+    public int getTypeCount() { return typeNames.length; }
+}
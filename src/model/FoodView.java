@@ -0,0 +1,38 @@
+package model;
+
+/**
+ * FoodView adalah tampilan read-only dari FoodStore untuk View (GamePanel) dan bot.
+ * Makanan diakses berdasarkan slot 0..size()-1; urutan slot bisa berubah setiap
+ * langkah simulasi (swap-remove), jadi simpan id, bukan slot, jika perlu merujuk
+ * makanan yang sama di langkah berikutnya.
+ */
+public interface FoodView {
+
+    int size();
+
+    /** @return Id stabil makanan pada slot ini. */
+    int getId(int slot);
+
+    int getX(int slot);
+
+    int getY(int slot);
+
+    /** Posisi pada langkah simulasi sebelumnya (untuk interpolasi). */
+    int getPreviousX(int slot);
+
+    int getPreviousY(int slot);
+
+    int getTypeId(int slot);
+
+    /** @return Kecepatan horizontal dalam piksel per langkah (negatif = ke kiri). */
+    int getSpeed(int slot);
+
+    /** @return Nama aset jenis makanan ini. */
+    String getName(int slot);
+
+    int getValue(int slot);
+
+    Food.FoodType getType(int slot);
+
+    Food.FoodState getState(int slot);
+}
@@ -1,7 +1,6 @@
 package model;
 
 import java.awt.Point;
-import java.util.List;
 
 public class Lasso {
 
@@ -15,14 +14,19 @@ public class Lasso {
     private LassoState state;
     private Point startPoint;
     private Point endPoint;
+    // posisi pada langkah simulasi sebelumnya (untuk interpolasi)
+    private final Point previousStartPoint;
+    private final Point previousEndPoint;
     private Point targetPoint; // titik tujuan (point mouse diklik)
-    private Food caughtFood;
+    private int caughtFoodId = -1; // id makanan di FoodStore, -1 jika tidak ada
     private final int speed = 20; // kecepatan lasso
 
     // constructor
     public Lasso(Point startPoint) {
         this.startPoint = startPoint;
         this.endPoint = new Point(startPoint);
+        this.previousStartPoint = new Point(startPoint);
+        this.previousEndPoint = new Point(startPoint);
         this.state = LassoState.IDLE;
     }
 
@@ -35,8 +39,8 @@ public class Lasso {
         }
     }
 
-    // update lasso sesuai state
-    public void update(Point playerPosition, List<Food> foodItems) {
+    // update lasso sesuai state; indeks spasial FoodStore dipakai agar hanya makanan di sekitar ujung laso yang dicek
+    public void update(Point playerPosition, FoodStore foods) {
         // point awal/lokasi pemain
         this.startPoint = playerPosition;
 
@@ -46,24 +50,14 @@ public class Lasso {
 
             // radius tabrakan
             int collisionRadius = 25; // nabrak jika kurang dari 25px
-            int radiusSquared = collisionRadius * collisionRadius; // pembanding
-
-            for (Food food : foodItems) {
-                // cek hanya makanan yang masih default
-                if (food.getState() == Food.FoodState.DEFAULT) {
-                    // hitung kuadrat jarak
-                    double dx = endPoint.x - food.getPosition().x;
-                    double dy = endPoint.y - food.getPosition().y;
-                    double distanceSquared = dx * dx + dy * dy;
-
-                    // bandingkan kuadrat jaraknya
-                    if (distanceSquared < radiusSquared) {
-                        this.caughtFood = food;
-                        this.caughtFood.setState(Food.FoodState.CAPTURED_BY_LASSO);
-                        this.state = LassoState.RETRACTING;
-                        return; // keluar dari loop setelah menemukan target
-                    }
-                }
+
+            // cek hanya makanan yang masih default, di sel grid sekitar ujung laso
+            int hit = foods.findNearest(endPoint.x, endPoint.y, collisionRadius, Food.FoodState.DEFAULT);
+            if (hit >= 0) {
+                this.caughtFoodId = hit;
+                foods.setState(foods.slotOf(hit), Food.FoodState.CAPTURED_BY_LASSO);
+                this.state = LassoState.RETRACTING;
+                return;
             }
 
             // jika mencapai target tanpa kena bola, tarik kembali
@@ -73,8 +67,9 @@ public class Lasso {
             // menarik kembali
         } else if (state == LassoState.RETRACTING) {
             moveTowards(startPoint);
-            if (caughtFood != null) {
-                caughtFood.getPosition().setLocation(endPoint);
+            int slot = foods.slotOf(caughtFoodId);
+            if (slot >= 0) {
+                foods.setPosition(slot, endPoint.x, endPoint.y);
             }
         }
     }
@@ -99,14 +94,25 @@ public class Lasso {
         this.state = LassoState.IDLE;
         if (this.startPoint != null) {
             this.endPoint.setLocation(this.startPoint);
+            // laso muncul lagi dari mulut, jangan diinterpolasi dari ujung lama
+            this.previousStartPoint.setLocation(this.startPoint);
+            this.previousEndPoint.setLocation(this.endPoint);
         }
         // lupakan referensi ke makanan tanpa mengubah state makanannya.
-        this.caughtFood = null;
+        this.caughtFoodId = -1;
+    }
+
+    // menyimpan posisi sekarang sebelum langkah simulasi berikutnya
+    public void savePreviousPosition() {
+        previousStartPoint.setLocation(startPoint);
+        previousEndPoint.setLocation(endPoint);
     }
 
     // getters
     public LassoState getState() { return state; }
     public Point getStartPoint() { return startPoint; }
     public Point getEndPoint() { return endPoint; }
-    public Food getCaughtFood() { return caughtFood; }
+    public Point getPreviousStartPoint() { return previousStartPoint; }
+    public Point getPreviousEndPoint() { return previousEndPoint; }
+    public int getCaughtFoodId() { return caughtFoodId; }
 }
\ No newline at end of file
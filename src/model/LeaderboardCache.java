@@ -0,0 +1,410 @@
+package model;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * LeaderboardCache menyimpan bagian atas papan peringkat yang sudah terurut di memori,
+ * di antara GameViewModel dan ScoreRepository.
+ *
+ * Papan peringkat hanya berubah saat sebuah sesi memperbaiki skor terbaik,
+ * jadi perubahan lokal langsung diterapkan ke cache dan database baru dibaca
+ * ulang setelah TTL habis (untuk menangkap perubahan dari pemain lain).
+ *
+ * Yang di-cache hanya jendela N baris teratas (getTopResults) dan jumlah baris
+ * (countResults). Halaman di bawah jendela diambil langsung dari repository dengan
+ * kursor keyset, jadi memori dan biaya reload tidak bergantung pada jumlah pemain.
+ *
+ * Peringkat, pemain di sekitar peringkat, dan persentil butuh seluruh papan peringkat.
+ * Untuk itu ada ScoreRankTree kedua yang baru diisi saat query peringkat pertama, dengan
+ * membaca halaman-halaman keyset dari repository di thread executor persistensi (bukan
+ * satu getAllResult). Setelah TTL habis, tree lama tetap dipakai sambil tree baru
+ * diisi di latar belakang.
+ */
+public class LeaderboardCache {
+
+    /** Urutan papan peringkat, sama dengan ORDER BY skor DESC, username DESC di ResultDAO. */
+    public static final Comparator<Result> LEADERBOARD_ORDER = (a, b) -> {
+        int bySkor = Integer.compare(b.getSkor(), a.getSkor());
+        return bySkor != 0 ? bySkor : b.getUsername().compareTo(a.getUsername());
+    };
+
+    private static final int STREAM_PAGE_SIZE = 1_000; // baris per query saat mengisi tree peringkat
+
+    private final ScoreRepository repository;
+    private final int windowSize;
+    private final long ttlMs;
+    private final Executor refreshExecutor;
+
+    // State cache (dijaga oleh lock "this")
+    private Board window = new Board(0);  // N baris teratas
+    private int totalCount = 0;
+    private long loadedAt = 0;
+    private boolean loaded = false;
+    private Board ranks;                  // seluruh papan peringkat, null sampai query peringkat pertama
+    private long ranksLoadedAt = 0;
+    private boolean ranksRefreshing = false;
+    // Perubahan lokal yang mungkin belum sampai ke database (write-behind)
+    private final Map<String, LocalWrite> localWrites = new HashMap<>();
+
+    // Hanya satu thread yang membaca ulang jendela / seluruh papan peringkat pada satu waktu.
+    // Query database berjalan tanpa memegang lock cache, jadi recordResult tidak pernah menunggu DB.
+    private final Object reloadLock = new Object();
+    private final Object rankLoadLock = new Object();
+
+    // Statistik
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * @param windowSize Jumlah baris teratas yang disimpan di memori.
+     * @param ttlMs Umur maksimum data sebelum dibaca ulang dari database.
+     * @param refreshExecutor Executor latar belakang untuk mengisi ulang tree peringkat.
+     */
+    public LeaderboardCache(ScoreRepository repository, int windowSize, long ttlMs, Executor refreshExecutor) {
+        this.repository = repository;
+        this.windowSize = windowSize;
+        this.ttlMs = ttlMs;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    // =========================================================================
+    // QUERY
+    // =========================================================================
+
+    public List<Result> getTop(int limit) {
+        boolean reloaded = ensureFresh();
+        synchronized (this) {
+            if (limit <= window.tree.size() || window.complete) {
+                countLookup(!reloaded);
+                return window.tree.range(0, limit);
+            }
+            misses++;
+        }
+        return repository.getTopResults(limit);
+    }
+
+    /** Versi keyset: baris setelah (skor, username) milik kursor. */
+    public List<Result> getAfter(int lastSkor, String lastUsername, int limit) {
+        boolean reloaded = ensureFresh();
+        synchronized (this) {
+            Result cursor = new Result(lastUsername, lastSkor, 0);
+            int start = window.tree.indexOf(cursor);
+            if (start < window.tree.size() && LEADERBOARD_ORDER.compare(window.tree.select(start), cursor) == 0) {
+                start++; // lewati baris kursor itu sendiri
+            }
+            if (start + limit <= window.tree.size() || window.complete) {
+                countLookup(!reloaded);
+                return window.tree.range(start, limit);
+            }
+            misses++;
+        }
+        return repository.getResultsAfter(lastSkor, lastUsername, limit);
+    }
+
+    public List<Result> getPage(int offset, int limit) {
+        boolean reloaded = ensureFresh();
+        synchronized (this) {
+            if (offset + limit <= window.tree.size() || window.complete) {
+                countLookup(!reloaded);
+                return window.tree.range(offset, limit);
+            }
+            misses++;
+        }
+        return repository.getResultsPage(offset, limit);
+    }
+
+    public int count() {
+        boolean reloaded = ensureFresh();
+        synchronized (this) {
+            countLookup(!reloaded);
+            return totalCount;
+        }
+    }
+
+    // =========================================================================
+    // PERINGKAT
+    // =========================================================================
+
+    /**
+     * @return Peringkat pemain (1 = teratas; skor sama berbagi peringkat), atau -1 jika tidak ada.
+     */
+    public int rankOf(String username) {
+        awaitRanks();
+        synchronized (this) {
+            Result stored = ranks.byUsername.get(username);
+            return stored == null ? -1 : ranks.tree.countHigherThan(stored.getSkor()) + 1;
+        }
+    }
+
+    /** @return Peringkat yang akan didapat sebuah skor jika disimpan sekarang. */
+    public int rankForScore(int skor) {
+        awaitRanks();
+        synchronized (this) {
+            return ranks.tree.countHigherThan(skor) + 1;
+        }
+    }
+
+    /**
+     * @return Pemain di posisi sekitar peringkat tersebut (radius baris ke atas dan ke bawah).
+     */
+    public List<Result> getAroundRank(int rank, int radius) {
+        awaitRanks();
+        synchronized (this) {
+            int start = Math.max(0, rank - 1 - radius);
+            int end = rank + radius; // eksklusif
+            return ranks.tree.range(start, end - start);
+        }
+    }
+
+    /**
+     * @return Persentase pemain lain yang skornya lebih rendah (0-100), atau -1 jika tidak ada.
+     */
+    public double percentileOf(String username) {
+        awaitRanks();
+        synchronized (this) {
+            Result stored = ranks.byUsername.get(username);
+            if (stored == null) return -1;
+            int size = ranks.tree.size();
+            int others = size - 1;
+            if (others == 0) return 100;
+            int notLower = ranks.tree.countHigherThan(stored.getSkor() - 1); // termasuk dirinya
+            return 100.0 * (size - notLower) / others;
+        }
+    }
+
+    // =========================================================================
+    // PERUBAHAN LOKAL
+    // =========================================================================
+
+    /**
+     * Menerapkan hasil sesi ke cache dengan aturan yang sama seperti ResultDAO.saveOrUpdate:
+     * pengguna baru dimasukkan, pengguna lama hanya diganti jika skornya lebih tinggi.
+     * Hanya mengubah memori dan tidak menunggu pembacaan ulang dari database, jadi aman dipanggil dari EDT.
+     */
+    public synchronized void recordResult(Result sessionResult) {
+        String username = sessionResult.getUsername();
+        Result stored = knownResult(username);
+        if (stored != null && sessionResult.getSkor() <= stored.getSkor()) return;
+
+        // jumlah baris hanya bertambah jika pasti belum ada di database
+        if (stored == null && loaded && isKnownAbsent(username)) totalCount++;
+
+        Result copy = new Result(username, sessionResult.getSkor(), sessionResult.getCount());
+        localWrites.put(username, new LocalWrite(copy, System.currentTimeMillis()));
+        if (loaded) window.apply(copy);
+        if (ranks != null) ranks.apply(copy);
+    }
+
+    /** Mencatat pengguna baru dengan skor 0 (sesuai ResultDAO.createUserIfNotExist). */
+    public synchronized void recordNewUser(String username) {
+        if (knownResult(username) == null) {
+            recordResult(new Result(username, 0, 0));
+        }
+    }
+
+    /** Memaksa pembacaan ulang dari database pada query berikutnya. */
+    public synchronized void invalidate() {
+        loaded = false;
+        ranksLoadedAt = 0;
+    }
+
+    // =========================================================================
+    // STATISTIK
+    // =========================================================================
+
+    public synchronized long getHitCount() { return hits; }
+    public synchronized long getMissCount() { return misses; }
+
+    public synchronized double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("LeaderboardCache[window=%d, ranks=%d, hits=%d, misses=%d, hitRatio=%.2f]",
+                window.tree.size(), ranks == null ? 0 : ranks.tree.size(), hits, misses, getHitRatio());
+    }
+
+    // =========================================================================
+    // HELPER
+    // =========================================================================
+
+    /** Satu papan peringkat terurut, dibatasi capacity baris teratas. */
+    private static final class Board {
+        final ScoreRankTree tree = new ScoreRankTree(LEADERBOARD_ORDER);
+        final Map<String, Result> byUsername = new HashMap<>();
+        final int capacity;
+        boolean complete = true; // true jika board berisi seluruh papan peringkat
+
+        Board(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // Memindahkan/menyisipkan satu baris dalam O(log n); baris di bawah capacity dibuang
+        void apply(Result result) {
+            Result previous = byUsername.remove(result.getUsername());
+            if (previous != null) {
+                tree.remove(previous);
+            } else if (tree.size() >= capacity) {
+                complete = false;
+                Result last = tree.select(tree.size() - 1);
+                if (LEADERBOARD_ORDER.compare(result, last) > 0) return; // di bawah jendela
+                tree.remove(last);
+                byUsername.remove(last.getUsername());
+            }
+            tree.insert(result);
+            byUsername.put(result.getUsername(), result);
+        }
+    }
+
+    private static final class LocalWrite {
+        final Result result;
+        final long recordedAt;
+
+        LocalWrite(Result result, long recordedAt) {
+            this.result = result;
+            this.recordedAt = recordedAt;
+        }
+    }
+
+    private void countLookup(boolean fromMemory) {
+        if (fromMemory) hits++;
+        else misses++;
+    }
+
+    /** @return true jika jendela dibaca ulang dari database. */
+    private boolean ensureFresh() {
+        synchronized (this) {
+            if (isFresh(System.currentTimeMillis())) return false;
+        }
+        synchronized (reloadLock) {
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                if (isFresh(now)) return false; // thread lain baru saja membaca ulang
+            }
+            reload(now);
+            return true;
+        }
+    }
+
+    private boolean isFresh(long now) {
+        return loaded && now - loadedAt < ttlMs;
+    }
+
+    // Hanya query terbatas: N baris teratas dan COUNT(*), dibaca tanpa memegang lock cache
+    private void reload(long now) {
+        List<Result> top = repository.getTopResults(windowSize);
+        int count = repository.countResults();
+        Board board = new Board(windowSize);
+        for (Result result : top) {
+            board.apply(result);
+        }
+        board.complete = top.size() < windowSize;
+        synchronized (this) {
+            // perubahan lokal yang masuk selama query berjalan ikut diterapkan di sini
+            int localOnly = reapplyLocalWrites(board, now);
+            window = board;
+            totalCount = count + (board.complete ? localOnly : 0);
+            loadedAt = now;
+            loaded = true;
+        }
+    }
+
+    // Memastikan tree peringkat ada; jika sudah kedaluwarsa, diisi ulang di latar belakang
+    private void awaitRanks() {
+        synchronized (this) {
+            if (ranks != null) {
+                countLookup(true);
+                if (System.currentTimeMillis() - ranksLoadedAt >= ttlMs) refreshRanksInBackground();
+                return;
+            }
+        }
+        // pemanggil berasal dari executor persistensi, jadi pengisian pertama boleh menunggu di sini
+        synchronized (rankLoadLock) {
+            synchronized (this) {
+                if (ranks != null) return;
+                misses++;
+            }
+            loadRanks();
+        }
+    }
+
+    private void refreshRanksInBackground() {
+        if (ranksRefreshing) return;
+        ranksRefreshing = true;
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    synchronized (rankLoadLock) {
+                        loadRanks();
+                    }
+                } finally {
+                    synchronized (this) {
+                        ranksRefreshing = false;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ranksRefreshing = false; // antrean penuh; dicoba lagi pada query peringkat berikutnya
+        }
+    }
+
+    // Membaca seluruh papan peringkat per halaman keyset, tanpa memegang lock cache
+    private void loadRanks() {
+        long startedAt = System.currentTimeMillis();
+        Board board = new Board(Integer.MAX_VALUE);
+        List<Result> page = repository.getTopResults(STREAM_PAGE_SIZE);
+        while (!page.isEmpty()) {
+            for (Result result : page) {
+                board.apply(result);
+            }
+            if (page.size() < STREAM_PAGE_SIZE) break;
+            Result last = page.get(page.size() - 1);
+            page = repository.getResultsAfter(last.getSkor(), last.getUsername(), STREAM_PAGE_SIZE);
+        }
+        synchronized (this) {
+            reapplyLocalWrites(board, startedAt);
+            ranks = board;
+            ranksLoadedAt = startedAt;
+        }
+    }
+
+    // Terapkan lagi perubahan lokal yang belum terlihat di database.
+    // @return Jumlah pengguna yang hanya ada di perubahan lokal (belum ada di board dari database).
+    private int reapplyLocalWrites(Board board, long now) {
+        int localOnly = 0;
+        for (Iterator<LocalWrite> it = localWrites.values().iterator(); it.hasNext(); ) {
+            LocalWrite local = it.next();
+            Result stored = board.byUsername.get(local.result.getUsername());
+            if (stored != null && stored.getSkor() >= local.result.getSkor()) {
+                it.remove(); // database sudah menyusul
+            } else if (now - local.recordedAt >= ttlMs) {
+                it.remove(); // write-behind sudah lama selesai (atau gagal); ikuti database
+            } else {
+                if (stored == null) localOnly++;
+                board.apply(local.result);
+            }
+        }
+        return localOnly;
+    }
+
+    private Result knownResult(String username) {
+        LocalWrite local = localWrites.get(username);
+        if (local != null) return local.result;
+        Result stored = window.byUsername.get(username);
+        if (stored == null && ranks != null) stored = ranks.byUsername.get(username);
+        return stored;
+    }
+
+    private boolean isKnownAbsent(String username) {
+        return (window.complete && !window.byUsername.containsKey(username))
+                || (ranks != null && !ranks.byUsername.containsKey(username));
+    }
+}
@@ -20,27 +20,49 @@ public class Player {
         EATING
     }
 
-    private Point position;
+    private Point position;               // posisi piksel (dipakai laso, gambar, dan tabrakan)
+    private double exactX, exactY;        // posisi sebenarnya, termasuk sisa subpiksel dari gerak diagonal
+    private final Point previousPosition; // posisi pada langkah simulasi sebelumnya (untuk interpolasi)
     private Direction facing;
     private PlayerState state;
 
     // constructor
     public Player(int startX, int startY) {
         this.position = new Point(startX, startY);
+        this.exactX = startX;
+        this.exactY = startY;
+        this.previousPosition = new Point(startX, startY);
         this.facing = Direction.RIGHT;
         this.state = PlayerState.IDLE;
     }
 
     // menggerakan player
     public void move(int dx, int dy) {
-        position.translate(dx, dy);
+        setPosition(position.x + dx, position.y + dy);
+    }
+
+    // memindahkan player ke posisi subpiksel; posisi piksel dibulatkan ke terdekat
+    public void setExactPosition(double x, double y) {
+        this.exactX = x;
+        this.exactY = y;
+        this.position.setLocation((int) Math.round(x), (int) Math.round(y));
+    }
+
+    // menyimpan posisi sekarang sebelum langkah simulasi berikutnya
+    public void savePreviousPosition() {
+        previousPosition.setLocation(position);
     }
 
     // getter dan setter
     public Point getPosition() { return position; }
+    public Point getPreviousPosition() { return previousPosition; }
     public void setPosition(int x, int y) {
         this.position.setLocation(x, y);
+        this.exactX = x;
+        this.exactY = y;
     }
+    public double getExactX() { return exactX; }
+    public double getExactY() { return exactY; }
     public Direction getFacing() { return facing; }
     public void setFacing(Direction facing) { this.facing = facing; }
     public PlayerState getState() { return state; }
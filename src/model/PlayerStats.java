@@ -0,0 +1,72 @@
+package model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PlayerStats adalah statistik kumulatif satu pemain (tabel tstatistik).
+ * Nilainya diperbarui setiap ada sesi baru, jadi layar statistik tidak perlu
+ * membaca seluruh riwayat.
+ */
+public class PlayerStats {
+    private final String username;
+    private int sessions;
+    private long totalSkor;
+    private long totalCount;
+    private int bestSkor;
+    private long lastPlayedAt;
+
+    // constructor untuk pemain tanpa sesi
+    public PlayerStats(String username) {
+        this(username, 0, 0, 0, Integer.MIN_VALUE, 0);
+    }
+
+    public PlayerStats(String username, int sessions, long totalSkor, long totalCount, int bestSkor, long lastPlayedAt) {
+        this.username = username;
+        this.sessions = sessions;
+        this.totalSkor = totalSkor;
+        this.totalCount = totalCount;
+        this.bestSkor = bestSkor;
+        this.lastPlayedAt = lastPlayedAt;
+    }
+
+    /** Menambahkan satu sesi ke statistik berjalan. */
+    public void add(SessionRecord session) {
+        sessions++;
+        totalSkor += session.getSkor();
+        totalCount += session.getCount();
+        bestSkor = Math.max(bestSkor, session.getSkor());
+        lastPlayedAt = Math.max(lastPlayedAt, session.getPlayedAt());
+    }
+
+    /** Menggabungkan statistik lain (misalnya hasil satu batch) ke statistik ini. */
+    public void merge(PlayerStats other) {
+        sessions += other.sessions;
+        totalSkor += other.totalSkor;
+        totalCount += other.totalCount;
+        bestSkor = Math.max(bestSkor, other.bestSkor);
+        lastPlayedAt = Math.max(lastPlayedAt, other.lastPlayedAt);
+    }
+
+    /**
+     * Meringkas banyak sesi menjadi satu statistik per pemain,
+     * agar satu batch hanya butuh satu upsert per username.
+     */
+    public static Map<String, PlayerStats> aggregate(Collection<SessionRecord> sessions) {
+        Map<String, PlayerStats> byUsername = new LinkedHashMap<>();
+        for (SessionRecord session : sessions) {
+            byUsername.computeIfAbsent(session.getUsername(), PlayerStats::new).add(session);
+        }
+        return byUsername;
+    }
+
+    // getters
+    public String getUsername() { return username; }
+    public int getSessions() { return sessions; }
+    public long getTotalSkor() { return totalSkor; }
+    public long getTotalCount() { return totalCount; }
+    public int getBestSkor() { return bestSkor; }
+    public long getLastPlayedAt() { return lastPlayedAt; }
+    public double getMeanSkor() { return sessions == 0 ? 0 : (double) totalSkor / sessions; }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * QueryMetrics (Singleton) mencatat waktu eksekusi setiap query JDBC di ResultDAO:
+ * histogram latensi per jenis query, waktu peminjaman koneksi, jumlah kegagalan,
+ * dan log query lambat di atas ambang yang bisa diatur.
+ *
+ * Konfigurasi lewat system property:
+ * - jeff.db.slowQueryMs  : ambang query lambat (default 250 ms)
+ * - jeff.db.slowQueryLog : file tujuan log query lambat (default System.err)
+ */
+public class QueryMetrics {
+
+    /** Jenis query yang dicatat terpisah. */
+    public enum QueryType {
+        LOOKUP,       // satu pemain berdasarkan username
+        INSERT,       // pemain baru
+        UPDATE,       // menimpa skor terbaik
+        LEADERBOARD,  // top-N, halaman, jumlah baris
+        BATCH_UPSERT, // batch skor dari write-behind
+        HISTORY,      // batch riwayat sesi + statistik
+        STATS         // statistik satu pemain
+    }
+
+    /** Pemanggilan JDBC yang diukur. */
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private static QueryMetrics instance;
+
+    private final long slowQueryNanos;
+    private final String slowQueryLogPath;
+    private final Map<QueryType, LatencyHistogram> queryLatency = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, AtomicLong> queryFailures = new EnumMap<>(QueryType.class);
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final AtomicLong acquireFailures = new AtomicLong();
+    private final AtomicLong slowQueries = new AtomicLong();
+
+    private QueryMetrics() {
+        this.slowQueryNanos = Long.getLong("jeff.db.slowQueryMs", 250) * 1_000_000L;
+        this.slowQueryLogPath = System.getProperty("jeff.db.slowQueryLog");
+        for (QueryType type : QueryType.values()) {
+            queryLatency.put(type, new LatencyHistogram());
+            queryFailures.put(type, new AtomicLong());
+        }
+    }
+
+    public static synchronized QueryMetrics getInstance() {
+        if (instance == null) {
+            instance = new QueryMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Menjalankan dan mengukur satu eksekusi query.
+     * @param sql Teks query, hanya dipakai untuk log query lambat.
+     */
+    public <T> T time(QueryType type, String sql, SqlCall<T> call) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return call.call();
+        } catch (SQLException | RuntimeException e) {
+            queryFailures.get(type).incrementAndGet();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            queryLatency.get(type).record(elapsed);
+            if (elapsed >= slowQueryNanos) {
+                logSlowQuery(type, sql, elapsed);
+            }
+        }
+    }
+
+    /** Mencatat lama peminjaman koneksi dari pool. */
+    public void recordAcquire(long elapsedNanos, boolean success) {
+        acquireLatency.record(elapsedNanos);
+        if (!success) {
+            acquireFailures.incrementAndGet();
+        }
+    }
+
+    public LatencyHistogram getQueryLatency(QueryType type) { return queryLatency.get(type); }
+    public long getQueryFailures(QueryType type) { return queryFailures.get(type).get(); }
+    public LatencyHistogram getAcquireLatency() { return acquireLatency; }
+    public long getAcquireFailures() { return acquireFailures.get(); }
+    public long getSlowQueryCount() { return slowQueries.get(); }
+
+    /** Mencetak ringkasan semua metrik dalam bentuk tabel teks. */
+    public void dumpSummary(PrintStream out) {
+        out.println("=== JDBC metrics ===");
+        out.printf("%-13s %8s %8s %9s %9s %9s %9s%n", "query", "count", "fail", "mean ms", "p50 ms", "p99 ms", "max ms");
+        for (QueryType type : QueryType.values()) {
+            printRow(out, type.name(), queryLatency.get(type), queryFailures.get(type).get());
+        }
+        printRow(out, "acquire", acquireLatency, acquireFailures.get());
+        out.printf("slow queries (>= %d ms): %d%n", slowQueryNanos / 1_000_000, slowQueries.get());
+    }
+
+    private static void printRow(PrintStream out, String name, LatencyHistogram histogram, long failures) {
+        out.printf("%-13s %8d %8d %9.3f %9.3f %9.3f %9.3f%n", name, histogram.getCount(), failures,
+                histogram.getMeanMillis(), histogram.getPercentileMillis(50), histogram.getPercentileMillis(99),
+                histogram.getMaxMillis());
+    }
+
+    private void logSlowQuery(QueryType type, String sql, long elapsedNanos) {
+        slowQueries.incrementAndGet();
+        String line = String.format("[slow-query] %tF %<tT %s %.1f ms: %s",
+                System.currentTimeMillis(), type, elapsedNanos / 1_000_000.0, sql);
+        if (slowQueryLogPath == null) {
+            System.err.println(line);
+            return;
+        }
+        synchronized (this) {
+            try (PrintWriter writer = new PrintWriter(new FileWriter(slowQueryLogPath, true))) {
+                writer.println(line);
+            } catch (IOException e) {
+                System.err.println(line);
+            }
+        }
+    }
+
+    /**
+     * Histogram latensi dengan bucket pangkat dua (dalam mikrodetik), aman dipakai banyak thread.
+     * Persentil dihitung dari batas atas bucket, jadi akurasinya dalam faktor 2.
+     */
+    public static final class LatencyHistogram {
+        private static final int BUCKETS = 40;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        public void record(long nanos) {
+            long micros = Math.max(0, nanos / 1_000);
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+            buckets.incrementAndGet(bucket);
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            long max;
+            do {
+                max = maxNanos.get();
+            } while (nanos > max && !maxNanos.compareAndSet(max, nanos));
+        }
+
+        public long getCount() { return count.get(); }
+
+        public double getMeanMillis() {
+            long n = count.get();
+            return n == 0 ? 0 : totalNanos.get() / (n * 1_000_000.0);
+        }
+
+        public double getMaxMillis() { return maxNanos.get() / 1_000_000.0; }
+
+        public double getPercentileMillis(double percentile) {
+            long n = count.get();
+            if (n == 0) return 0;
+            long target = (long) Math.ceil(n * percentile / 100.0);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= target) {
+                    // bucket i berisi nilai < 2^i mikrodetik
+                    return Math.min((1L << i) / 1_000.0, getMaxMillis());
+                }
+            }
+            return getMaxMillis();
+        }
+    }
+}
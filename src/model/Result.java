@@ -1,6 +1,11 @@
 package model;
 
+import java.util.Objects;
+
 public class Result {
+    /** Panjang username maksimum, sama dengan kolom username varchar(255) di database. */
+    public static final int MAX_USERNAME_LENGTH = 255;
+
     private String username;
     private int skor;
     private int count;
@@ -18,4 +23,17 @@ public class Result {
     public int getCount() { return count; }
     public void setSkor(int skor) { this.skor = skor; }
     public void setCount(int count) { this.count = count; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Result)) return false;
+        Result other = (Result) o;
+        return skor == other.skor && count == other.count && Objects.equals(username, other.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(username, skor, count);
+    }
 }
\ No newline at end of file
@@ -2,25 +2,32 @@ package model;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+
+import model.QueryMetrics.QueryType;
 
 /**
  * ResultDAO (Data Access Object) bertanggung jawab untuk semua interaksi
  * dengan tabel 'thasil' di database.
  * Versi ini menerapkan logika "Skor Tertinggi (Best Score)".
  */
-public class ResultDAO {
+public class ResultDAO implements ScoreRepository {
+
+    private static final QueryMetrics METRICS = QueryMetrics.getInstance();
 
     /**
      * Mengambil semua data hasil dari database, diurutkan dari skor tertinggi.
      * @return List dari objek Result.
      */
+    @Override
     public List<Result> getAllResult() {
         List<Result> results = new ArrayList<>();
         String sql = "SELECT * FROM thasil ORDER BY skor DESC";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = openConnection();
              Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+             ResultSet rs = METRICS.time(QueryType.LEADERBOARD, sql, () -> stmt.executeQuery(sql))) {
 
             while (rs.next()) {
                 results.add(new Result(
@@ -35,12 +42,124 @@ public class ResultDAO {
         return results;
     }
 
+    /**
+     * Mengambil N skor teratas saja, memakai index (skor, username) tanpa full sort.
+     * Urutan: skor tertinggi dulu, skor yang sama diurutkan berdasarkan username (menurun).
+     * @param limit Jumlah baris maksimum.
+     * @return List dari objek Result, paling banyak sebanyak limit.
+     */
+    @Override
+    public List<Result> getTopResults(int limit) {
+        String sql = "SELECT username, skor, count FROM thasil ORDER BY skor DESC, username DESC LIMIT ?";
+        return queryPage(sql, limit, null);
+    }
+
+    /**
+     * Keyset pagination: mengambil halaman berikutnya setelah baris terakhir halaman sebelumnya.
+     * Tidak memakai OFFSET, jadi biayanya tetap sama seberapa jauh pun halamannya.
+     * @param lastSkor Skor baris terakhir dari halaman sebelumnya.
+     * @param lastUsername Username baris terakhir dari halaman sebelumnya.
+     * @param limit Jumlah baris maksimum.
+     * @return List dari objek Result setelah kursor, dengan urutan yang sama seperti getTopResults.
+     */
+    @Override
+    public List<Result> getResultsAfter(int lastSkor, String lastUsername, int limit) {
+        String sql = "SELECT username, skor, count FROM thasil "
+                + "WHERE skor < ? OR (skor = ? AND username < ?) "
+                + "ORDER BY skor DESC, username DESC LIMIT ?";
+        return queryPage(sql, limit, pstmt -> {
+            pstmt.setInt(1, lastSkor);
+            pstmt.setInt(2, lastSkor);
+            pstmt.setString(3, lastUsername);
+            return 3;
+        });
+    }
+
+    /**
+     * Mengambil halaman berdasarkan posisi baris. Dipakai hanya saat kursor keyset
+     * untuk halaman sebelumnya belum diketahui (misalnya scrollbar ditarik jauh).
+     * @param offset Indeks baris pertama (mulai dari 0).
+     * @param limit Jumlah baris maksimum.
+     */
+    @Override
+    public List<Result> getResultsPage(int offset, int limit) {
+        String sql = "SELECT username, skor, count FROM thasil "
+                + "ORDER BY skor DESC, username DESC LIMIT ? OFFSET ?";
+        List<Result> results = new ArrayList<>();
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, limit);
+            pstmt.setInt(2, offset);
+            try (ResultSet rs = METRICS.time(QueryType.LEADERBOARD, sql, pstmt::executeQuery)) {
+                while (rs.next()) {
+                    results.add(new Result(
+                            rs.getString("username"),
+                            rs.getInt("skor"),
+                            rs.getInt("count")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return results;
+    }
+
+    /**
+     * @return Jumlah seluruh pemain di papan peringkat.
+     */
+    @Override
+    public int countResults() {
+        String sql = "SELECT COUNT(*) FROM thasil";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = METRICS.time(QueryType.LEADERBOARD, sql, pstmt::executeQuery)) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
+    // Helper untuk query halaman; parameter LIMIT selalu berada di posisi terakhir
+    private List<Result> queryPage(String sql, int limit, ParameterBinder binder) {
+        List<Result> results = new ArrayList<>();
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (binder != null) {
+                index += binder.bind(pstmt);
+            }
+            pstmt.setInt(index, limit);
+            try (ResultSet rs = METRICS.time(QueryType.LEADERBOARD, sql, pstmt::executeQuery)) {
+                while (rs.next()) {
+                    results.add(new Result(
+                            rs.getString("username"),
+                            rs.getInt("skor"),
+                            rs.getInt("count")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return results;
+    }
+
+    /** Mengisi parameter query; mengembalikan jumlah parameter yang sudah diisi. */
+    private interface ParameterBinder {
+        int bind(PreparedStatement pstmt) throws SQLException;
+    }
+
     /**
      * KETERANGAN: Logika metode ini diubah total untuk mendukung sistem "Best Score".
      * Menyimpan skor baru HANYA JIKA skor tersebut lebih tinggi dari yang sudah ada,
      * atau jika pengguna belum ada di database.
      * @param sessionResult Objek Result dari sesi permainan yang baru saja selesai.
      */
+    @Override
     public void saveOrUpdate(Result sessionResult) {
         // Cek apakah pengguna sudah ada dan dapatkan data lamanya
         Result storedResult = getResultByUsername(sessionResult.getUsername());
@@ -58,17 +177,61 @@ public class ResultDAO {
         }
     }
 
+    /**
+     * Menyimpan banyak hasil sekaligus dalam satu batch upsert kondisional.
+     * Baris baru dimasukkan, baris lama hanya ditimpa jika skornya lebih tinggi,
+     * jadi hasilnya sama dengan memanggil saveOrUpdate untuk setiap hasil.
+     * Kolom count di-update lebih dulu karena MySQL mengevaluasi SET dari kiri ke kanan.
+     * @param sessionResults Hasil sesi, paling banyak satu per username.
+     * @return false jika batch gagal; tidak ada baris yang tersimpan (rollback).
+     */
+    @Override
+    public boolean saveAll(Collection<Result> sessionResults) {
+        if (sessionResults.isEmpty()) return true;
+        String sql = "INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE "
+                + "count = IF(skor IS NULL OR VALUES(skor) > skor, VALUES(count), count), "
+                + "skor = IF(skor IS NULL OR VALUES(skor) > skor, VALUES(skor), skor)";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (Result hasil : sessionResults) {
+                    pstmt.setString(1, hasil.getUsername());
+                    pstmt.setInt(2, hasil.getSkor());
+                    pstmt.setInt(3, hasil.getCount());
+                    pstmt.addBatch();
+                }
+                METRICS.time(QueryType.BATCH_UPSERT, sql, () -> {
+                    pstmt.executeBatch();
+                    conn.commit();
+                    return null;
+                });
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     /**
      * KETERANGAN: Metode helper baru untuk mengambil data satu pengguna.
      * @param username Nama pengguna yang akan dicari.
      * @return Objek Result jika ditemukan, null jika tidak.
      */
-    private Result getResultByUsername(String username) {
+    @Override
+    public Result getResultByUsername(String username) {
         String sql = "SELECT * FROM thasil WHERE username = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = openConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
+            try (ResultSet rs = METRICS.time(QueryType.LOOKUP, sql, pstmt::executeQuery)) {
                 if (rs.next()) {
                     return new Result(
                             rs.getString("username"),
@@ -89,12 +252,12 @@ public class ResultDAO {
      */
     private void insertNewUser(Result hasil) {
         String sql = "INSERT INTO thasil(username, skor, count) VALUES(?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = openConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, hasil.getUsername());
             pstmt.setInt(2, hasil.getSkor());
             pstmt.setInt(3, hasil.getCount());
-            pstmt.executeUpdate();
+            METRICS.time(QueryType.INSERT, sql, pstmt::executeUpdate);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -107,12 +270,12 @@ public class ResultDAO {
      */
     private void updateBestScore(Result hasil) {
         String sql = "UPDATE thasil SET skor = ?, count = ? WHERE username = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = openConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, hasil.getSkor());
             pstmt.setInt(2, hasil.getCount());
             pstmt.setString(3, hasil.getUsername());
-            pstmt.executeUpdate();
+            METRICS.time(QueryType.UPDATE, sql, pstmt::executeUpdate);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -123,9 +286,112 @@ public class ResultDAO {
      * @param username Nama pengguna yang akan diperiksa.
      * @return true jika ada, false jika tidak.
      */
+    @Override
     public void createUserIfNotExist(String username) {
         if (getResultByUsername(username) == null) {
             insertNewUser(new Result(username, 0, 0));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Menyimpan riwayat sesi (triwayat) dengan batch insert, lalu memperbarui
+     * statistik kumulatif (tstatistik) secara inkremental dalam transaksi yang sama.
+     * Sesi di dalam batch diringkas dulu per username sehingga hanya ada satu upsert per pemain.
+     */
+    @Override
+    public boolean recordSessions(Collection<SessionRecord> sessions) {
+        if (sessions.isEmpty()) return true;
+        String historySql = "INSERT INTO triwayat(username, skor, count, played_at) VALUES(?, ?, ?, ?)";
+        String statsSql = "INSERT INTO tstatistik(username, sessions, total_skor, total_count, best_skor, last_played_at) "
+                + "VALUES(?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE "
+                + "sessions = sessions + VALUES(sessions), "
+                + "total_skor = total_skor + VALUES(total_skor), "
+                + "total_count = total_count + VALUES(total_count), "
+                + "best_skor = GREATEST(best_skor, VALUES(best_skor)), "
+                + "last_played_at = GREATEST(last_played_at, VALUES(last_played_at))";
+        try (Connection conn = openConnection();
+             PreparedStatement historyStmt = conn.prepareStatement(historySql);
+             PreparedStatement statsStmt = conn.prepareStatement(statsSql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (SessionRecord session : sessions) {
+                    historyStmt.setString(1, session.getUsername());
+                    historyStmt.setInt(2, session.getSkor());
+                    historyStmt.setInt(3, session.getCount());
+                    historyStmt.setTimestamp(4, new Timestamp(session.getPlayedAt()));
+                    historyStmt.addBatch();
+                }
+                METRICS.time(QueryType.HISTORY, historySql, historyStmt::executeBatch);
+
+                for (Map.Entry<String, PlayerStats> entry : PlayerStats.aggregate(sessions).entrySet()) {
+                    PlayerStats delta = entry.getValue();
+                    statsStmt.setString(1, entry.getKey());
+                    statsStmt.setInt(2, delta.getSessions());
+                    statsStmt.setLong(3, delta.getTotalSkor());
+                    statsStmt.setLong(4, delta.getTotalCount());
+                    statsStmt.setInt(5, delta.getBestSkor());
+                    statsStmt.setTimestamp(6, new Timestamp(delta.getLastPlayedAt()));
+                    statsStmt.addBatch();
+                }
+                METRICS.time(QueryType.HISTORY, statsSql, () -> {
+                    statsStmt.executeBatch();
+                    conn.commit();
+                    return null;
+                });
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Membaca statistik kumulatif satu pemain (satu baris, tanpa memindai riwayat).
+     */
+    @Override
+    public PlayerStats getPlayerStats(String username) {
+        String sql = "SELECT sessions, total_skor, total_count, best_skor, last_played_at FROM tstatistik WHERE username = ?";
+        try (Connection conn = openConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, username);
+            try (ResultSet rs = METRICS.time(QueryType.STATS, sql, pstmt::executeQuery)) {
+                if (rs.next()) {
+                    Timestamp lastPlayed = rs.getTimestamp("last_played_at");
+                    return new PlayerStats(
+                            username,
+                            rs.getInt("sessions"),
+                            rs.getLong("total_skor"),
+                            rs.getLong("total_count"),
+                            rs.getInt("best_skor"),
+                            lastPlayed != null ? lastPlayed.getTime() : 0
+                    );
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /** Menutup connection pool. */
+    @Override
+    public void close() {
+        DatabaseConnection.shutdown();
+    }
+
+    // Meminjam koneksi; melempar SQLException (bukan mengembalikan null) jika database tidak tersedia
+    private Connection openConnection() throws SQLException {
+        Connection conn = DatabaseConnection.getConnection();
+        if (conn == null) {
+            throw new SQLException("Koneksi database tidak tersedia");
+        }
+        return conn;
+    }
+}
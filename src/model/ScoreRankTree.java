@@ -0,0 +1,201 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * ScoreRankTree adalah order-statistic tree (treap) untuk papan peringkat.
+ * Setiap node menyimpan ukuran subtree-nya, sehingga insert, remove, mencari
+ * posisi sebuah baris, dan mengambil baris ke-k semuanya O(log n).
+ *
+ * Urutannya mengikuti LeaderboardCache.LEADERBOARD_ORDER (posisi 0 = skor tertinggi).
+ * Kelas ini tidak thread-safe; LeaderboardCache yang menjaga sinkronisasinya.
+ */
+public class ScoreRankTree {
+
+    private static final class Node {
+        final Result value;
+        final int priority;
+        Node left, right;
+        int size = 1;
+
+        Node(Result value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<Result> order;
+    private final Random random = new Random();
+    private Node root;
+
+    public ScoreRankTree(Comparator<Result> order) {
+        this.order = order;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = null;
+    }
+
+    public void insert(Result value) {
+        root = insert(root, new Node(value, random.nextInt()));
+    }
+
+    /** @return true jika baris dengan urutan yang sama ditemukan dan dihapus. */
+    public boolean remove(Result value) {
+        int before = size();
+        root = remove(root, value);
+        return size() < before;
+    }
+
+    /**
+     * @return Jumlah baris sebelum value (posisi 0-based jika value ada di tree).
+     */
+    public int indexOf(Result value) {
+        int index = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = order.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                index += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return index;
+    }
+
+    /** @return Jumlah baris yang skornya lebih tinggi dari skor tersebut. */
+    public int countHigherThan(int skor) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.value.getSkor() > skor) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /** @return Baris pada posisi ke-index (0-based). */
+    public Result select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Mengambil baris berurutan mulai dari posisi from, dalam O(log n + limit).
+     */
+    public List<Result> range(int from, int limit) {
+        int start = Math.max(0, from);
+        int end = Math.min(size(), start + Math.max(0, limit));
+        List<Result> out = new ArrayList<>(Math.max(0, end - start));
+        collect(root, start, end, 0, out);
+        return out;
+    }
+
+    // Traversal in-order yang hanya turun ke subtree yang beririsan dengan [start, end)
+    private void collect(Node node, int start, int end, int offset, List<Result> out) {
+        if (node == null || offset >= end || offset + node.size <= start) return;
+        int leftSize = size(node.left);
+        collect(node.left, start, end, offset, out);
+        int position = offset + leftSize;
+        if (position >= start && position < end) {
+            out.add(node.value);
+        }
+        collect(node.right, start, end, position + 1, out);
+    }
+
+    // =========================================================================
+    // OPERASI TREAP
+    // =========================================================================
+
+    private Node insert(Node node, Node fresh) {
+        if (node == null) return fresh;
+        if (order.compare(fresh.value, node.value) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, Result value) {
+        if (node == null) return null;
+        int cmp = order.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, value);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
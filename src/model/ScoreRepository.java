@@ -0,0 +1,79 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ScoreRepository adalah kontrak penyimpanan skor terbaik pemain.
+ * Implementasinya: ResultDAO (MySQL) dan FileScoreRepository (file lokal, tanpa server).
+ *
+ * Semua urutan papan peringkat mengikuti skor tertinggi dulu, lalu username menurun
+ * (lihat LeaderboardCache.LEADERBOARD_ORDER).
+ */
+public interface ScoreRepository {
+
+    /** Nilai system property "jeff.store": "mysql", "file", atau "auto" (default). */
+    String STORE_PROPERTY = "jeff.store";
+    /** Lokasi folder penyimpanan file, default ~/.jeff-is-hungry. */
+    String STORE_DIR_PROPERTY = "jeff.store.dir";
+
+    List<Result> getAllResult();
+
+    List<Result> getTopResults(int limit);
+
+    List<Result> getResultsAfter(int lastSkor, String lastUsername, int limit);
+
+    List<Result> getResultsPage(int offset, int limit);
+
+    int countResults();
+
+    /** @return Objek Result jika ditemukan, null jika tidak. */
+    Result getResultByUsername(String username);
+
+    /** Menyimpan hasil sesi hanya jika pengguna baru atau skornya lebih tinggi. */
+    void saveOrUpdate(Result sessionResult);
+
+    /**
+     * Sama seperti saveOrUpdate untuk banyak hasil sekaligus, dalam satu batch.
+     * @return false jika penyimpanan gagal dan boleh dicoba lagi.
+     */
+    boolean saveAll(Collection<Result> sessionResults);
+
+    void createUserIfNotExist(String username);
+
+    /**
+     * Mencatat setiap sesi ke riwayat dan memperbarui statistik kumulatif pemain
+     * dalam satu batch.
+     * @return false jika penyimpanan gagal dan boleh dicoba lagi (tidak ada yang tersimpan sebagian).
+     */
+    boolean recordSessions(Collection<SessionRecord> sessions);
+
+    /** @return Statistik kumulatif pemain, atau null jika pemain belum pernah bermain. */
+    PlayerStats getPlayerStats(String username);
+
+    /** Melepas resource (koneksi, file) milik repository. */
+    void close();
+
+    /**
+     * Memilih repository sesuai system property "jeff.store".
+     * Mode "auto" memakai MySQL jika server bisa dihubungi, dan file lokal jika tidak.
+     * Pengecekan itu bisa menunggu sampai connectTimeout, jadi jangan dipanggil dari EDT.
+     */
+    static ScoreRepository createDefault() {
+        String store = System.getProperty(STORE_PROPERTY, "auto");
+        if (store.equals("mysql") || (store.equals("auto") && DatabaseConnection.isAvailable())) {
+            return new ResultDAO();
+        }
+        File directory = new File(System.getProperty(STORE_DIR_PROPERTY,
+                System.getProperty("user.home") + File.separator + ".jeff-is-hungry"));
+        try {
+            System.err.println("Database tidak dipakai, skor disimpan di " + directory.getAbsolutePath());
+            return new FileScoreRepository(directory);
+        } catch (IOException e) {
+            System.err.println("Gagal membuka penyimpanan skor lokal, kembali ke MySQL: " + e.getMessage());
+            return new ResultDAO();
+        }
+    }
+}
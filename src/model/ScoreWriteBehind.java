@@ -0,0 +1,189 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScoreWriteBehind menampung hasil sesi yang sudah selesai dan menyimpannya ke
+ * database di thread latar belakang, sehingga Swing EDT tidak menunggu MySQL.
+ *
+ * Beberapa hasil untuk username yang sama digabung (hanya skor tertinggi yang
+ * dipertahankan), lalu dikirim sebagai satu batch upsert kondisional.
+ * Riwayat sesi tidak digabung: setiap sesi dicatat, juga dalam satu batch.
+ *
+ * Saat shutdown, batch yang gagal terus dicoba lagi sampai batas waktu shutdown.
+ * Yang masih belum tersimpan setelah itu tetap di antrean dan dilaporkan oleh shutdown.
+ */
+public class ScoreWriteBehind {
+
+    private final ScoreRepository repository;
+    private final long lingerMs;
+    private final long retryDelayMs;
+
+    // Hasil yang menunggu untuk di-flush, satu entri per username (dijaga oleh "lock")
+    private final Map<String, Result> pending = new LinkedHashMap<>();
+    // Riwayat sesi yang menunggu untuk di-flush (dijaga oleh "lock")
+    private final List<SessionRecord> pendingSessions = new ArrayList<>();
+    private final Object lock = new Object();
+    private final Thread worker;
+    private boolean running = true;
+    private long stopDeadline;  // nanoTime batas flush terakhir, diisi saat shutdown
+    private int inFlight = 0;   // skor dan sesi yang sedang dikirim worker
+
+    /**
+     * @param lingerMs Waktu tunggu setelah hasil pertama masuk, agar hasil lain bisa ikut satu batch.
+     */
+    public ScoreWriteBehind(ScoreRepository repository, long lingerMs) {
+        this.repository = repository;
+        this.lingerMs = lingerMs;
+        this.retryDelayMs = 2_000;
+        this.worker = new Thread(this::runLoop, "score-write-behind");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Memasukkan hasil sesi ke antrean tanpa memblokir pemanggil.
+     * Jika username yang sama sudah mengantre, yang dipertahankan adalah skor tertinggi.
+     * @param sessionResult Hasil sesi yang baru selesai.
+     */
+    public void submit(Result sessionResult) {
+        synchronized (lock) {
+            if (!running) {
+                throw new IllegalStateException("ScoreWriteBehind sudah dihentikan");
+            }
+            merge(sessionResult);
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Memasukkan satu sesi ke antrean riwayat tanpa memblokir pemanggil.
+     * @param session Sesi yang baru selesai.
+     */
+    public void submitSession(SessionRecord session) {
+        synchronized (lock) {
+            if (!running) {
+                throw new IllegalStateException("ScoreWriteBehind sudah dihentikan");
+            }
+            pendingSessions.add(session);
+            lock.notifyAll();
+        }
+    }
+
+    /** @return Jumlah skor dan sesi yang masih menunggu disimpan. */
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size() + pendingSessions.size() + inFlight;
+        }
+    }
+
+    /**
+     * Menghentikan worker setelah semua antrean tersimpan.
+     * @param timeoutMs Batas waktu menunggu flush terakhir.
+     */
+    public void shutdown(long timeoutMs) {
+        synchronized (lock) {
+            running = false;
+            stopDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            lock.notifyAll();
+        }
+        try {
+            worker.join(timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int unsaved = getPendingCount();
+        if (worker.isAlive() || unsaved > 0) {
+            System.err.println("Gagal menyimpan " + unsaved + " skor/sesi sebelum aplikasi ditutup.");
+        }
+    }
+
+    // harus dipanggil sambil memegang lock
+    private void merge(Result result) {
+        Result queued = pending.get(result.getUsername());
+        if (queued == null || result.getSkor() > queued.getSkor()) {
+            pending.put(result.getUsername(), result);
+        }
+    }
+
+    private void runLoop() {
+        while (true) {
+            List<Result> batch;
+            List<SessionRecord> sessionBatch;
+            boolean stopping;
+            synchronized (lock) {
+                try {
+                    while (running && isIdle()) {
+                        lock.wait();
+                    }
+                    // tunggu sampai batas linger agar simpanan lain bisa digabung ke batch ini;
+                    // submit berikutnya juga membangunkan wait, jadi sisa waktunya dihitung ulang
+                    long lingerEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                    long remainingNanos;
+                    while (running && (remainingNanos = lingerEnd - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(lock, remainingNanos);
+                    }
+                } catch (InterruptedException e) {
+                    running = false;
+                    stopDeadline = System.nanoTime(); // diinterupsi: coba sekali lagi saja
+                }
+                stopping = !running;
+                if (isIdle()) {
+                    if (stopping) return;
+                    continue;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                sessionBatch = new ArrayList<>(pendingSessions);
+                pendingSessions.clear();
+                inFlight = batch.size() + sessionBatch.size();
+            }
+
+            boolean sessionsSaved = repository.recordSessions(sessionBatch);
+            boolean scoresSaved = repository.saveAll(batch);
+            long retryInMs = retryDelayMs;
+            synchronized (lock) {
+                inFlight = 0;
+                // kembalikan ke antrean tanpa menimpa hasil yang lebih baru/lebih tinggi
+                if (!scoresSaved) {
+                    for (Result result : batch) {
+                        merge(result);
+                    }
+                }
+                if (!sessionsSaved) {
+                    pendingSessions.addAll(0, sessionBatch);
+                }
+                if (stopping) {
+                    // saat shutdown hanya boleh mencoba lagi sampai batas waktunya
+                    retryInMs = Math.min(retryDelayMs, TimeUnit.NANOSECONDS.toMillis(stopDeadline - System.nanoTime()));
+                }
+            }
+            if (!sessionsSaved || !scoresSaved) {
+                if (retryInMs <= 0) return; // sisanya tetap di antrean dan dilaporkan oleh shutdown
+                System.err.println("Gagal menyimpan skor/riwayat, dicoba lagi dalam " + retryInMs + " ms.");
+                sleepQuietly(retryInMs);
+            } else if (stopping) {
+                synchronized (lock) {
+                    if (isIdle()) return;
+                }
+            }
+        }
+    }
+
+    // harus dipanggil sambil memegang lock
+    private boolean isIdle() {
+        return pending.isEmpty() && pendingSessions.isEmpty();
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package model;
+
+/**
+ * SessionRecord adalah satu sesi permainan yang sudah selesai, untuk tabel riwayat.
+ * Berbeda dengan Result yang hanya menyimpan skor terbaik per pemain.
+ */
+public class SessionRecord {
+    private final String username;
+    private final int skor;
+    private final int count;
+    private final long playedAt; // waktu selesai (epoch millis)
+
+    // constructor
+    public SessionRecord(String username, int skor, int count, long playedAt) {
+        this.username = username;
+        this.skor = skor;
+        this.count = count;
+        this.playedAt = playedAt;
+    }
+
+    // getters
+    public String getUsername() { return username; }
+    public int getSkor() { return skor; }
+    public int getCount() { return count; }
+    public long getPlayedAt() { return playedAt; }
+}
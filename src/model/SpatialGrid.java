@@ -0,0 +1,173 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * SpatialGrid adalah indeks spasial (uniform grid / spatial hash) untuk entitas ber-id.
+ * Bidang permainan dibagi menjadi sel persegi; setiap sel dipetakan ke satu bucket,
+ * sehingga pencarian di sekitar satu titik hanya memeriksa entitas di sel-sel terdekat,
+ * bukan seluruh daftar.
+ *
+ * Koordinat tidak dibatasi (makanan boleh berada di luar layar). Dua sel yang jauh
+ * bisa berbagi bucket, tetapi jarak selalu dicek ulang, jadi hasilnya tetap benar.
+ * Semua data disimpan di array primitif; setelah kapasitas cukup, tidak ada alokasi.
+ * Kelas ini tidak thread-safe; dipakai hanya dari thread simulasi.
+ */
+public class SpatialGrid {
+
+    private final int cellShift; // ukuran sel = 2^cellShift, agar pembagian cukup dengan shift
+
+    // isi setiap bucket: id entitas
+    private final int[][] bucketIds;
+    private final int[] bucketSizes;
+
+    // per id: posisi terakhir, sel, dan bucket (-1 jika tidak terdaftar)
+    private int[] xs = new int[0], ys = new int[0];
+    private int[] cellXs = new int[0], cellYs = new int[0];
+    private int[] bucketOfId = new int[0];
+    private int size = 0;
+
+    /**
+     * @param cellSize Ukuran sisi sel dalam piksel (sebaiknya sekitar ukuran objek),
+     *                 dibulatkan ke atas menjadi pangkat dua.
+     * @param bucketCount Jumlah bucket hash.
+     */
+    public SpatialGrid(int cellSize, int bucketCount) {
+        this(cellSize, bucketCount, 4);
+    }
+
+    /**
+     * @param bucketCapacity Kapasitas awal setiap bucket. Jika sama dengan jumlah entitas
+     *                       maksimum, bucket tidak pernah perlu diperbesar (tanpa alokasi
+     *                       walaupun banyak entitas kebetulan berbagi bucket).
+     */
+    public SpatialGrid(int cellSize, int bucketCount, int bucketCapacity) {
+        this.cellShift = 32 - Integer.numberOfLeadingZeros(Math.max(1, cellSize - 1));
+        this.bucketIds = new int[bucketCount][Math.max(1, bucketCapacity)];
+        this.bucketSizes = new int[bucketCount];
+    }
+
+    /** Memastikan id 0..capacity-1 bisa dipakai tanpa memperbesar array lagi. */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= bucketOfId.length) return;
+        int oldLength = bucketOfId.length;
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        cellXs = Arrays.copyOf(cellXs, capacity);
+        cellYs = Arrays.copyOf(cellYs, capacity);
+        bucketOfId = Arrays.copyOf(bucketOfId, capacity);
+        Arrays.fill(bucketOfId, oldLength, capacity, -1);
+    }
+
+    public void insert(int id, int x, int y) {
+        ensureCapacity(id + 1);
+        xs[id] = x;
+        ys[id] = y;
+        cellXs[id] = x >> cellShift;
+        cellYs[id] = y >> cellShift;
+        int bucket = bucketOfCell(cellXs[id], cellYs[id]);
+        addToBucket(bucket, id);
+        bucketOfId[id] = bucket;
+        size++;
+    }
+
+    public void remove(int id) {
+        if (id >= bucketOfId.length || bucketOfId[id] < 0) return;
+        removeFromBucket(bucketOfId[id], id);
+        bucketOfId[id] = -1;
+        size--;
+    }
+
+    /**
+     * Mencatat posisi baru; bucket hanya dihitung ulang jika entitas sudah pindah sel.
+     * Dipanggil setiap kali posisi entitas berubah.
+     */
+    public void update(int id, int x, int y) {
+        if (bucketOfId[id] < 0) return;
+        xs[id] = x;
+        ys[id] = y;
+        int cellX = x >> cellShift;
+        int cellY = y >> cellShift;
+        if (cellX == cellXs[id] && cellY == cellYs[id]) return;
+
+        cellXs[id] = cellX;
+        cellYs[id] = cellY;
+        int bucket = bucketOfCell(cellX, cellY);
+        if (bucket != bucketOfId[id]) {
+            removeFromBucket(bucketOfId[id], id);
+            addToBucket(bucket, id);
+            bucketOfId[id] = bucket;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        Arrays.fill(bucketOfId, -1);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Mencari entitas terdekat yang jaraknya kurang dari radius dari titik (x, y).
+     * @param filter Hanya id yang lolos filter yang dipertimbangkan.
+     * @return Id entitas terdekat, atau -1 jika tidak ada.
+     */
+    public int findNearest(int x, int y, int radius, IntPredicate filter) {
+        int nearest = -1;
+        long nearestDistance = (long) radius * radius;
+
+        // shift aritmetika = pembagian yang dibulatkan ke bawah, juga untuk koordinat negatif
+        int minCellX = (x - radius) >> cellShift;
+        int maxCellX = (x + radius) >> cellShift;
+        int minCellY = (y - radius) >> cellShift;
+        int maxCellY = (y + radius) >> cellShift;
+        for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                int bucket = bucketOfCell(cellX, cellY);
+                int[] ids = bucketIds[bucket];
+                for (int i = 0, n = bucketSizes[bucket]; i < n; i++) {
+                    int id = ids[i];
+                    long dx = xs[id] - x;
+                    long dy = ys[id] - y;
+                    long distanceSquared = dx * dx + dy * dy;
+                    if (distanceSquared < nearestDistance && filter.test(id)) {
+                        nearest = id;
+                        nearestDistance = distanceSquared;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    private void addToBucket(int bucket, int id) {
+        int n = bucketSizes[bucket];
+        if (n == bucketIds[bucket].length) {
+            bucketIds[bucket] = Arrays.copyOf(bucketIds[bucket], n * 2);
+        }
+        bucketIds[bucket][n] = id;
+        bucketSizes[bucket] = n + 1;
+    }
+
+    // swap-remove: urutan di dalam bucket tidak penting
+    private void removeFromBucket(int bucket, int id) {
+        int[] ids = bucketIds[bucket];
+        int last = bucketSizes[bucket] - 1;
+        for (int i = 0; i <= last; i++) {
+            if (ids[i] == id) {
+                ids[i] = ids[last];
+                bucketSizes[bucket] = last;
+                return;
+            }
+        }
+    }
+
+    private int bucketOfCell(int cellX, int cellY) {
+        int hash = cellX * 73856093 ^ cellY * 19349663;
+        return Math.floorMod(hash, bucketSizes.length);
+    }
+}
@@ -1,9 +1,13 @@
 package view;
 
-import model.FloatingScore;
 import model.Food;
+import model.FoodCatalog;
 import model.Lasso;
 import model.Player;
+import viewmodel.FixedStepLoop;
+import viewmodel.FrameProfiler;
+import viewmodel.FrameSnapshot;
+import viewmodel.GameSimulation;
 import viewmodel.GameViewModel;
 
 import javax.imageio.ImageIO;
@@ -11,13 +15,10 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.AffineTransform;
+import java.awt.image.VolatileImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.awt.FontFormatException;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 /**
  * GamePanel adalah komponen utama tempat semua elemen permainan digambar dan loop game berjalan.
@@ -25,32 +26,38 @@ import java.util.Set;
  */
 public class GamePanel extends JPanel implements ActionListener {
 
-    // Konstanta untuk durasi animasi agar mudah diubah
-    private static final int IDLE_FRAME_DURATION = 40;
-    private static final int WALK_FRAME_DURATION = 15;
+    // Simulasi berjalan dengan langkah tetap; Timer hanya memicu frame
+    private static final int SIMULATION_STEPS_PER_SECOND = GameSimulation.STEPS_PER_SECOND;
+    private static final int MAX_STEPS_PER_FRAME = 5;   // batas catch-up per frame
+    private static final long MAX_FRAME_MS = 250;       // jeda lebih lama dari ini dipotong
+
+    // -Djeff.render.active=true: gambar langsung ke back buffer VolatileImage, tanpa repaint()
+    private static final boolean ACTIVE_RENDERING = Boolean.getBoolean("jeff.render.active");
+
+    // Overlay performa, ditampilkan/disembunyikan dengan F3
+    private static final int PROFILER_KEY = KeyEvent.VK_F3;
+    private static final Font OVERLAY_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 170);
 
     // Referensi ke komponen utama dan logika game
     private final MainWindow mainWindow;
     private final GameViewModel viewModel;
     private final Timer gameLoop;
+    private final FixedStepLoop simulationLoop =
+            new FixedStepLoop(SIMULATION_STEPS_PER_SECOND, MAX_STEPS_PER_FRAME, MAX_FRAME_MS);
+    private VolatileImage backBuffer; // hanya dipakai pada mode active rendering
 
-    // Aset Gambar (Images)
-    private Image backgroundImage, basketImage, emptyPlateImage;
-    private Image playerStandImage, playerJumpImage, playerWalkImage, playerEatImage;
-    private Image tongueBaseImage, tongueMiddleImage, tongueTipImage;
-    private Map<String, Image> foodImages;
+    // Aset Gambar, sudah diskalakan per GraphicsConfiguration
+    private SpriteCache spriteCache;
 
     // Aset Font
     private Font customFont;
 
-    // Variabel untuk State Animasi
-    private int idleAnimCounter = 0;
-    private boolean isIdleJumpFrame = false;
-    private int walkAnimCounter = 0;
-    private boolean isWalkFrame = false;
-
     // Variabel untuk State Input
-    private final Set<Integer> activeKeys = new HashSet<>();
+    // bit tombol arah yang sedang ditekan: panah memakai bit GameSimulation.MOVE_*, WASD bit yang sama digeser 4
+    private int heldKeys = 0;
+    private int movementMask = 0;
+    private long lastShownInputSequence = 0; // input terakhir yang latensinya sudah diukur
 
     /**
      * Constructor untuk GamePanel.
@@ -61,11 +68,13 @@ public class GamePanel extends JPanel implements ActionListener {
         this.mainWindow = mainWindow;
         this.viewModel = viewModel;
         this.setFocusable(true);
+        // pada mode active rendering, frame digambar sendiri oleh game loop
+        this.setIgnoreRepaint(ACTIVE_RENDERING);
 
         loadAssets();
         addListeners();
 
-        this.gameLoop = new Timer(16, this); // Mengatur game loop untuk berjalan sekitar 60 FPS
+        this.gameLoop = new Timer(16, this); // Memicu frame sekitar 60 FPS; kecepatan game tidak bergantung padanya
     }
 
     /**
@@ -73,29 +82,30 @@ public class GamePanel extends JPanel implements ActionListener {
      * Metode ini dipanggil sekali saat inisialisasi.
      */
     private void loadAssets() {
+        Image backgroundImage = null, basketImage = null, emptyPlateImage = null;
+        Image tongueBaseImage = null, tongueMiddleImage = null, tongueTipImage = null;
+        FoodCatalog catalog = viewModel.getFoodCatalog();
+        Image[] foodImages = new Image[catalog.size()]; // indeks = type id makanan
+        Image[] playerImages = new Image[SpriteCache.Pose.values().length]; // indeks = Pose.ordinal()
         try {
             // Memuat Aset UI dan Background
             backgroundImage = ImageIO.read(getClass().getResourceAsStream("/images/background.png"));
             basketImage = ImageIO.read(getClass().getResourceAsStream("/images/basket.png"));
             emptyPlateImage = ImageIO.read(getClass().getResourceAsStream("/images/foods/plate.png"));
 
-            // Memuat Aset Makanan
-            foodImages = new HashMap<>();
-            String[] foodNames = {
-                    "steak", "hotdog", "hamburger", "cheesecake", "chocolate", "pudding", "sushi",
-                    "carrot", "green", "corn", "eggplant", "cucumber"
-            };
-            for (String name : foodNames) {
-                Image img = ImageIO.read(getClass().getResourceAsStream("/images/foods/" + name + ".png"));
-                if (img != null) foodImages.put(name, img);
-                else System.err.println("Gagal memuat gambar makanan: " + name + ".png");
+            // Memuat Aset Makanan (indeks = type id dari katalog makanan)
+            for (int typeId = 0; typeId < catalog.size(); typeId++) {
+                String file = catalog.getImageFile(typeId);
+                InputStream in = getClass().getResourceAsStream("/images/foods/" + file);
+                foodImages[typeId] = in != null ? ImageIO.read(in) : null;
+                if (foodImages[typeId] == null) System.err.println("Gagal memuat gambar makanan: " + file);
             }
 
             // Memuat Aset Animasi Karakter
-            playerStandImage = ImageIO.read(getClass().getResourceAsStream("/images/jeff/stand.png"));
-            playerJumpImage = ImageIO.read(getClass().getResourceAsStream("/images/jeff/jump.png"));
-            playerWalkImage = ImageIO.read(getClass().getResourceAsStream("/images/jeff/walk.png"));
-            playerEatImage = ImageIO.read(getClass().getResourceAsStream("/images/jeff/eat.png"));
+            playerImages[SpriteCache.Pose.STAND.ordinal()] = ImageIO.read(getClass().getResourceAsStream("/images/jeff/stand.png"));
+            playerImages[SpriteCache.Pose.JUMP.ordinal()] = ImageIO.read(getClass().getResourceAsStream("/images/jeff/jump.png"));
+            playerImages[SpriteCache.Pose.WALK.ordinal()] = ImageIO.read(getClass().getResourceAsStream("/images/jeff/walk.png"));
+            playerImages[SpriteCache.Pose.EAT.ordinal()] = ImageIO.read(getClass().getResourceAsStream("/images/jeff/eat.png"));
 
             // Memuat Aset Laso (Lidah)
             tongueBaseImage = ImageIO.read(getClass().getResourceAsStream("/images/tongue/tongue_base.png"));
@@ -107,6 +117,10 @@ public class GamePanel extends JPanel implements ActionListener {
             e.printStackTrace();
         }
 
+        // Skala dan pencerminan dikerjakan SpriteCache sekali per GraphicsConfiguration, bukan setiap frame
+        spriteCache = new SpriteCache(backgroundImage, basketImage, emptyPlateImage, foodImages, playerImages,
+                tongueBaseImage, tongueMiddleImage, tongueTipImage);
+
         // Memuat Aset Font
         try (InputStream is = getClass().getResourceAsStream("/font/Pixelify.ttf")) {
             if (is == null) throw new IOException("File font tidak ditemukan: Pixelify.ttf");
@@ -129,9 +143,16 @@ public class GamePanel extends JPanel implements ActionListener {
                 int keyCode = e.getKeyCode();
                 GameViewModel.GameState currentState = viewModel.getGameState();
 
+                if (keyCode == PROFILER_KEY) {
+                    viewModel.setProfiling(!viewModel.isProfiling());
+                    return;
+                }
+
                 if (currentState == GameViewModel.GameState.PLAYING) {
-                    if (isMovementKey(keyCode)) {
-                        activeKeys.add(keyCode);
+                    int bit = keyBit(keyCode);
+                    if (bit != 0) {
+                        heldKeys |= bit;
+                        updateMovementMask(e);
                     } else if (keyCode == KeyEvent.VK_SPACE) {
                         viewModel.pauseGame();
                     }
@@ -147,48 +168,67 @@ public class GamePanel extends JPanel implements ActionListener {
 
             @Override
             public void keyReleased(KeyEvent e) {
-                int keyCode = e.getKeyCode();
-                if (isMovementKey(keyCode)) {
-                    activeKeys.remove(keyCode);
-                    if (activeKeys.isEmpty()) {
-                        viewModel.stopWalking();
-                    }
+                int bit = keyBit(e.getKeyCode());
+                if (bit != 0) {
+                    heldKeys &= ~bit;
+                    updateMovementMask(e); // mask 0 menghentikan jalan pada langkah berikutnya
                 }
             }
         };
         addKeyListener(keyAdapter);
 
+        // tombol yang dilepas saat panel tidak fokus tidak pernah sampai ke sini, jadi anggap semua dilepas
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                releaseAllKeys();
+            }
+        });
+
         addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
                 if (viewModel.getGameState() == GameViewModel.GameState.PLAYING) {
-                    viewModel.fireLasso(e.getPoint());
+                    viewModel.fireLasso(e.getPoint(), inputNanos(e));
                 }
             }
         });
 
         this.addComponentListener(new java.awt.event.ComponentAdapter() {
             public void componentShown(java.awt.event.ComponentEvent evt) {
+                viewModel.setViewportSize(getWidth(), getHeight());
+                releaseAllKeys(); // tombol yang masih ditekan dari sesi sebelumnya
+                simulationLoop.reset();
+                viewModel.startSimulationThread();
                 gameLoop.start();
                 requestFocusInWindow();
             }
             public void componentHidden(java.awt.event.ComponentEvent evt) {
                 gameLoop.stop();
+                viewModel.stopSimulationThread();
+                releaseBackBuffer();
             }
         });
     }
 
     /**
-     * Metode yang dipanggil oleh game loop (Timer).
+     * Metode yang dipanggil oleh game loop (Timer) di setiap frame.
+     * Simulasi dijalankan sebanyak langkah tetap yang sudah jatuh tempo, jadi
+     * kecepatan game tetap sama walaupun Timer telat atau paint lambat.
+     * Jika simulasi punya thread sendiri, frame ini hanya menggambar snapshot terbaru.
      * @param e Event dari timer.
      */
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (viewModel.getGameState() == GameViewModel.GameState.PLAYING) {
-            handleMovement(); // Tangani input gerakan yang sedang aktif
-            viewModel.updateGame(getWidth(), getHeight());
+        viewModel.setViewportSize(getWidth(), getHeight());
+        if (!viewModel.isSimulationThreaded()) {
+            simulationLoop.advance(System.nanoTime(), viewModel::simulationStep);
+        }
+        if (ACTIVE_RENDERING) {
+            renderActive();
+        } else {
+            repaint(); // Selalu repaint untuk memperbarui tampilan
         }
-        repaint(); // Selalu repaint untuk memperbarui tampilan
     }
 
     /**
@@ -199,97 +239,182 @@ public class GamePanel extends JPanel implements ActionListener {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (viewModel.getPlayer() == null) return;
+        renderScene((Graphics2D) g);
+    }
+
+    /**
+     * Menggambar satu frame lengkap ke Graphics apa pun (layar atau back buffer),
+     * dengan urutan layer yang sama untuk mode passive maupun active rendering.
+     */
+    private void renderScene(Graphics2D g2d) {
+        // satu snapshot untuk seluruh frame, jadi semua layer konsisten
+        FrameSnapshot frame = viewModel.acquireFrame();
+        if (!frame.hasPlayer()) return;
 
-        Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
+        // Posisi digambar di antara dua langkah simulasi terakhir
+        float interpolation = viewModel.isSimulationThreaded()
+                ? frame.getInterpolation(System.nanoTime()) : simulationLoop.getAlpha();
+
+        // Profiler hanya dipakai saat overlay aktif; jika tidak, jam tidak dibaca sama sekali
+        FrameProfiler profiler = viewModel.isProfiling() ? viewModel.getProfiler() : null;
+        long time = 0;
+        if (profiler != null) {
+            time = System.nanoTime();
+            profiler.recordFrame(time);
+        }
+
+        // sprite yang cocok dengan tujuan gambar (layar, VolatileImage, atau BufferedImage)
+        SpriteCache.Sprites sprites = spriteCache.get(g2d.getDeviceConfiguration(), getWidth(), getHeight());
+
         // Urutan penggambaran / layering
-        drawBackground(g);
-        drawPlayerAndLasso(g2d); // Menggambar pemain dan laso setelah makanan
-        drawFoodItems(g2d);
-        drawScoreBasket(g2d);
-        drawFloatingScores(g2d);
-        drawPauseOverlay(g2d); // Overlay pause digambar paling akhir
+        drawBackground(g2d, sprites);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_BACKGROUND, time);
+        drawPlayerAndLasso(g2d, sprites, frame, interpolation); // Menggambar pemain dan laso setelah makanan
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_PLAYER, time);
+        drawFoodItems(g2d, sprites, frame, interpolation);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_FOOD, time);
+        drawScoreBasket(g2d, sprites, frame);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_BASKET, time);
+        drawFloatingScores(g2d, frame, interpolation);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_SCORES, time);
+        drawPauseOverlay(g2d, frame); // Overlay pause digambar paling akhir
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.DRAW_PAUSE, time);
+
+        // latensi input: frame pertama yang memuat langkah yang memproses input baru
+        if (frame.getInputSequence() != lastShownInputSequence) {
+            lastShownInputSequence = frame.getInputSequence();
+            if (profiler != null) profiler.recordInputLatency(time - frame.getInputNanos());
+        }
+        if (profiler != null) drawPerformanceOverlay(g2d, frame, profiler);
+    }
+
+    /**
+     * Active rendering: frame digambar ke VolatileImage (di memori kartu grafis),
+     * lalu disalin ke layar saat itu juga tanpa menunggu RepaintManager.
+     * Jika isi back buffer hilang (misalnya mode layar berubah), frame digambar ulang.
+     */
+    private void renderActive() {
+        int width = getWidth();
+        int height = getHeight();
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (!isShowing() || width <= 0 || height <= 0 || gc == null) return;
+
+        do {
+            if (backBuffer == null || backBuffer.getWidth() != width || backBuffer.getHeight() != height
+                    || backBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                releaseBackBuffer();
+                backBuffer = gc.createCompatibleVolatileImage(width, height);
+            }
+            // IMAGE_RESTORED tidak perlu ditangani khusus: seluruh frame selalu digambar ulang
+            Graphics2D g2d = backBuffer.createGraphics();
+            try {
+                g2d.setColor(getBackground());
+                g2d.fillRect(0, 0, width, height);
+                renderScene(g2d);
+            } finally {
+                g2d.dispose();
+            }
+
+            Graphics screen = getGraphics();
+            if (screen == null) return;
+            try {
+                screen.drawImage(backBuffer, 0, 0, null);
+            } finally {
+                screen.dispose();
+            }
+        } while (backBuffer.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void releaseBackBuffer() {
+        if (backBuffer != null) {
+            backBuffer.flush();
+            backBuffer = null;
+        }
     }
 
     // Metode helper untuk menggambar
     // background
-    private void drawBackground(Graphics g) {
-        if (backgroundImage != null) {
-            g.drawImage(backgroundImage, 0, 0, getWidth(), getHeight(), this);
+    private void drawBackground(Graphics g, SpriteCache.Sprites sprites) {
+        Image background = sprites.getBackground();
+        if (background != null) {
+            g.drawImage(background, 0, 0, null);
         }
     }
 
     // makanan
-    private void drawFoodItems(Graphics2D g2d) {
-        for (Food food : viewModel.getFoodItems()) {
+    private void drawFoodItems(Graphics2D g2d, SpriteCache.Sprites sprites, FrameSnapshot foods, float interpolation) {
+        int imgSize = SpriteCache.FOOD_SIZE;
+        for (int i = 0; i < foods.size(); i++) {
             Image imageToDraw;
-            if (food.getState() == Food.FoodState.ANIMATING_TO_BASKET) {
-                imageToDraw = emptyPlateImage;
+            if (foods.getState(i) == Food.FoodState.ANIMATING_TO_BASKET) {
+                imageToDraw = sprites.getPlate();
             } else {
-                imageToDraw = foodImages.get(food.getName());
+                imageToDraw = sprites.getFood(foods.getTypeId(i));
             }
 
             if (imageToDraw != null) {
-                int imgSize = 64;
-                g2d.drawImage(imageToDraw, food.getPosition().x - imgSize / 2, food.getPosition().y - imgSize / 2, imgSize, imgSize, this);
+                int x = lerp(foods.getPreviousX(i), foods.getX(i), interpolation);
+                int y = lerp(foods.getPreviousY(i), foods.getY(i), interpolation);
+                g2d.drawImage(imageToDraw, x - imgSize / 2, y - imgSize / 2, null);
             }
         }
     }
 
     // pemain dan lasso
-    private void drawPlayerAndLasso(Graphics2D g2d) {
-        Player player = viewModel.getPlayer();
-        if (player == null) return;
-
-        // Menggambar animasi karakter pemain
-        Image playerImageToDraw = getPlayerAnimationFrame(player);
-        drawPlayerImageWithFlip(g2d, player, playerImageToDraw);
+    private void drawPlayerAndLasso(Graphics2D g2d, SpriteCache.Sprites sprites, FrameSnapshot frame, float interpolation) {
+        // Menggambar animasi karakter pemain (frame menghadap kiri sudah dicerminkan di cache)
+        Image playerImageToDraw = sprites.getPlayer(getPlayerAnimationFrame(frame), frame.getFacing());
+        drawPlayerImage(g2d, frame, playerImageToDraw, interpolation);
 
         // Menggambar lasso (lidah)
-        Lasso lasso = viewModel.getLasso();
-        if (lasso.getState() != Lasso.LassoState.IDLE && tongueBaseImage != null && tongueMiddleImage != null && tongueTipImage != null) {
+        Image tongueBaseImage = sprites.getTongueBase();
+        Image tongueMiddleImage = sprites.getTongueMiddle();
+        Image tongueTipImage = sprites.getTongueTip();
+        if (frame.getLassoState() != Lasso.LassoState.IDLE && tongueBaseImage != null && tongueMiddleImage != null && tongueTipImage != null) {
             AffineTransform oldTransform = g2d.getTransform();
-            Point start = lasso.getStartPoint();
-            Point end = lasso.getEndPoint();
-            double dx = end.x - start.x;
-            double dy = end.y - start.y;
+            int startX = lerp(frame.getLassoPreviousStartX(), frame.getLassoStartX(), interpolation);
+            int startY = lerp(frame.getLassoPreviousStartY(), frame.getLassoStartY(), interpolation);
+            int endX = lerp(frame.getLassoPreviousEndX(), frame.getLassoEndX(), interpolation);
+            int endY = lerp(frame.getLassoPreviousEndY(), frame.getLassoEndY(), interpolation);
+            double dx = endX - startX;
+            double dy = endY - startY;
             double angle = Math.atan2(dy, dx);
             double length = Math.sqrt(dx * dx + dy * dy);
 
-            g2d.translate(start.x, start.y);
+            g2d.translate(startX, startY);
             g2d.rotate(angle);
 
-            int baseWidth = tongueBaseImage.getWidth(this);
-            int tipWidth = tongueTipImage.getWidth(this);
-            int tongueHeight = tongueBaseImage.getHeight(this);
+            int baseWidth = tongueBaseImage.getWidth(null);
+            int tipWidth = tongueTipImage.getWidth(null);
+            int tongueHeight = tongueBaseImage.getHeight(null);
             int middleWidth = (int) length - baseWidth - tipWidth;
 
-            g2d.drawImage(tongueBaseImage, 0, -tongueHeight / 2, baseWidth, tongueHeight, this);
+            g2d.drawImage(tongueBaseImage, 0, -tongueHeight / 2, null);
             if (middleWidth > 0) {
-                g2d.drawImage(tongueMiddleImage, baseWidth, -tongueHeight / 2, middleWidth, tongueHeight, this);
+                g2d.drawImage(tongueMiddleImage, baseWidth, -tongueHeight / 2, middleWidth, tongueHeight, null);
             }
-            g2d.drawImage(tongueTipImage, (int) length - tipWidth, -tongueHeight / 2, tipWidth, tongueHeight, this);
+            g2d.drawImage(tongueTipImage, (int) length - tipWidth, -tongueHeight / 2, null);
 
             g2d.setTransform(oldTransform);
         }
     }
 
     // keranjang
-    private void drawScoreBasket(Graphics2D g2d) {
+    private void drawScoreBasket(Graphics2D g2d, SpriteCache.Sprites sprites, FrameSnapshot frame) {
+        Image basketImage = sprites.getBasket();
         if (basketImage == null) return;
 
-        int basketWidth = 260;
-        int basketHeight = 220;
-        int basketX = getWidth() - basketWidth;
-        int basketY = (getHeight() - basketHeight) / 2;
-        g2d.drawImage(basketImage, basketX, basketY, basketWidth, basketHeight, this);
+        int basketX = getWidth() - SpriteCache.BASKET_WIDTH;
+        int basketY = (getHeight() - SpriteCache.BASKET_HEIGHT) / 2;
+        g2d.drawImage(basketImage, basketX, basketY, null);
 
         g2d.setFont(customFont.deriveFont(Font.BOLD, 18f));
-        String scoreText = "Score: " + viewModel.getCurrentScore();
-        String countText = "Count: " + viewModel.getCurrentCount();
+        String scoreText = "Score: " + frame.getScore();
+        String countText = "Count: " + frame.getCount();
         int textX = basketX + 87;
         int scoreY = basketY + 120;
         int countY = basketY + 145;
@@ -306,23 +431,24 @@ public class GamePanel extends JPanel implements ActionListener {
     }
 
     // floating score
-    private void drawFloatingScores(Graphics2D g2d) {
-        for (FloatingScore fs : viewModel.getFloatingScores()) {
+    private void drawFloatingScores(Graphics2D g2d, FrameSnapshot frame, float interpolation) {
+        for (int i = 0; i < frame.getFloatingScoreCount(); i++) {
             g2d.setFont(customFont.deriveFont(Font.BOLD, 22f));
-            g2d.setColor(fs.getColor());
+            g2d.setColor(frame.getFloatingScoreColor(i));
 
-            float alpha = (float) fs.getLifespan() / fs.getMaxLifespan();
-            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, Math.max(0, alpha)));
+            float alpha = frame.getFloatingScoreOpacity(i);
+            g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
 
-            Point.Float pos = fs.getPosition();
-            g2d.drawString(fs.getText(), (int)pos.x, (int)pos.y);
+            float previousY = frame.getFloatingScorePreviousY(i);
+            float y = previousY + (frame.getFloatingScoreY(i) - previousY) * interpolation;
+            g2d.drawString(frame.getFloatingScoreText(i), (int) frame.getFloatingScoreX(i), (int) y);
         }
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f));
     }
 
     // overlay ketika pause
-    private void drawPauseOverlay(Graphics2D g2d) {
-        if (viewModel.getGameState() != GameViewModel.GameState.PAUSED) return;
+    private void drawPauseOverlay(Graphics2D g2d, FrameSnapshot frame) {
+        if (frame.getGameState() != GameViewModel.GameState.PAUSED) return;
 
         g2d.setColor(new Color(0, 0, 0, 150));
         g2d.fillRect(0, 0, getWidth(), getHeight());
@@ -345,68 +471,108 @@ public class GamePanel extends JPanel implements ActionListener {
         g2d.drawString(menuText, xMenu, y + 90);
     }
 
-    // Method helper lainnya
-    // cek movement WASD/Arrow Key
-    private boolean isMovementKey(int keyCode) {
-        return keyCode == KeyEvent.VK_UP || keyCode == KeyEvent.VK_DOWN ||
-                keyCode == KeyEvent.VK_LEFT || keyCode == KeyEvent.VK_RIGHT ||
-                keyCode == KeyEvent.VK_W || keyCode == KeyEvent.VK_A ||
-                keyCode == KeyEvent.VK_S || keyCode == KeyEvent.VK_D;
-    }
-
-    // handle gerakan
-    private void handleMovement() {
-        if (activeKeys.contains(KeyEvent.VK_UP) || activeKeys.contains(KeyEvent.VK_W)) {
-            viewModel.movePlayer("UP", getWidth(), getHeight());
-        }
-        if (activeKeys.contains(KeyEvent.VK_DOWN) || activeKeys.contains(KeyEvent.VK_S)) {
-            viewModel.movePlayer("DOWN", getWidth(), getHeight());
+    // overlay performa (F3): FPS, waktu frame, jumlah entitas, GC, alokasi, dan durasi per fase
+    private void drawPerformanceOverlay(Graphics2D g2d, FrameSnapshot frame, FrameProfiler profiler) {
+        FrameProfiler.Phase[] phases = FrameProfiler.getPhases();
+        String[] lines = new String[5 + phases.length];
+        lines[0] = String.format("FPS %5.1f  frame p50 %5.2f ms  p99 %5.2f ms%s", profiler.getFps(),
+                profiler.getFramePercentileMillis(0.5), profiler.getFramePercentileMillis(0.99),
+                viewModel.isSimulationThreaded() ? "  (thread simulasi)" : "");
+        lines[1] = String.format("makanan %d  skor mengambang %d  laso %s", frame.size(),
+                frame.getFloatingScoreCount(), frame.getLassoState());
+        double allocation = profiler.getAllocationBytesPerSecond();
+        lines[2] = String.format("GC %d (%d/s, %d ms/s)  alokasi %s", profiler.getGcCount(),
+                profiler.getGcCountPerSecond(), profiler.getGcMillisPerSecond(),
+                allocation < 0 ? "n/a" : String.format("%.2f MB/s", allocation / (1024 * 1024)));
+        lines[3] = String.format("input->frame p50 %5.1f ms  p99 %5.1f ms  (%d input)",
+                profiler.getInputLatencyPercentileMillis(0.5), profiler.getInputLatencyPercentileMillis(0.99),
+                profiler.getInputLatencyCount());
+        lines[4] = String.format("%-18s %9s %9s", "fase", "rata2 us", "maks us");
+        for (int i = 0; i < phases.length; i++) {
+            lines[5 + i] = String.format("%-18s %9.1f %9.1f", phases[i].getLabel(),
+                    profiler.getPhaseMeanMicros(phases[i]), profiler.getPhaseMaxMicros(phases[i]));
         }
-        if (activeKeys.contains(KeyEvent.VK_LEFT) || activeKeys.contains(KeyEvent.VK_A)) {
-            viewModel.movePlayer("LEFT", getWidth(), getHeight());
+
+        g2d.setFont(OVERLAY_FONT);
+        FontMetrics metrics = g2d.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+        int width = 0;
+        for (String line : lines) width = Math.max(width, metrics.stringWidth(line));
+        g2d.setColor(OVERLAY_BACKGROUND);
+        g2d.fillRect(8, 8, width + 16, lines.length * lineHeight + 12);
+        g2d.setColor(Color.WHITE);
+        for (int i = 0; i < lines.length; i++) {
+            g2d.drawString(lines[i], 16, 14 + metrics.getAscent() + i * lineHeight);
         }
-        if (activeKeys.contains(KeyEvent.VK_RIGHT) || activeKeys.contains(KeyEvent.VK_D)) {
-            viewModel.movePlayer("RIGHT", getWidth(), getHeight());
+    }
+
+    // Method helper lainnya
+    // bit untuk tombol arah (WASD/Arrow Key), 0 jika bukan tombol arah
+    private static int keyBit(int keyCode) {
+        switch (keyCode) {
+            case KeyEvent.VK_UP: return GameSimulation.MOVE_UP;
+            case KeyEvent.VK_DOWN: return GameSimulation.MOVE_DOWN;
+            case KeyEvent.VK_LEFT: return GameSimulation.MOVE_LEFT;
+            case KeyEvent.VK_RIGHT: return GameSimulation.MOVE_RIGHT;
+            case KeyEvent.VK_W: return GameSimulation.MOVE_UP << 4;
+            case KeyEvent.VK_S: return GameSimulation.MOVE_DOWN << 4;
+            case KeyEvent.VK_A: return GameSimulation.MOVE_LEFT << 4;
+            case KeyEvent.VK_D: return GameSimulation.MOVE_RIGHT << 4;
+            default: return 0;
         }
     }
 
-    // handle asset player sesuai state
-    private Image getPlayerAnimationFrame(Player player) {
-        switch (player.getState()) {
+    // handle gerakan: tombol arah yang aktif digabung menjadi satu mask, dibaca simulasi sekali per langkah.
+    // Hanya perubahan mask yang dikirim (auto-repeat tombol tidak dihitung sebagai input baru).
+    private void updateMovementMask(InputEvent e) {
+        int mask = (heldKeys | heldKeys >>> 4) & 0xF;
+        if (mask == movementMask) return;
+        movementMask = mask;
+        viewModel.setMovementMask(mask, inputNanos(e));
+    }
+
+    // melupakan semua tombol arah, baik di panel maupun di ViewModel
+    private void releaseAllKeys() {
+        heldKeys = 0;
+        if (movementMask == 0) return;
+        movementMask = 0;
+        viewModel.setMovementMask(0);
+    }
+
+    // waktu event dibuat (getWhen, ms) dalam skala nanoTime, agar antrean event EDT ikut terhitung
+    private static long inputNanos(InputEvent e) {
+        long queuedMillis = System.currentTimeMillis() - e.getWhen();
+        return System.nanoTime() - Math.max(0, Math.min(queuedMillis, 1_000)) * 1_000_000L;
+    }
+
+    // handle pose player sesuai state
+    private SpriteCache.Pose getPlayerAnimationFrame(FrameSnapshot frame) {
+        switch (frame.getPlayerState()) {
             case WALKING:
-                walkAnimCounter++;
-                if (walkAnimCounter > WALK_FRAME_DURATION) {
-                    isWalkFrame = !isWalkFrame;
-                    walkAnimCounter = 0;
-                }
-                return isWalkFrame ? playerWalkImage : playerStandImage;
+                return frame.isAlternateFrame() ? SpriteCache.Pose.WALK : SpriteCache.Pose.STAND;
             case EATING:
-                return playerEatImage;
+                return SpriteCache.Pose.EAT;
             case IDLE:
             default:
-                idleAnimCounter++;
-                if (idleAnimCounter > IDLE_FRAME_DURATION) {
-                    isIdleJumpFrame = !isIdleJumpFrame;
-                    idleAnimCounter = 0;
-                }
-                return isIdleJumpFrame ? playerJumpImage : playerStandImage;
+                return frame.isAlternateFrame() ? SpriteCache.Pose.JUMP : SpriteCache.Pose.STAND;
         }
     }
 
-    // handle arah player
-    private void drawPlayerImageWithFlip(Graphics g, Player player, Image image) {
+    // gambar player, tanpa skala
+    private void drawPlayerImage(Graphics g, FrameSnapshot frame, Image image, float interpolation) {
         if (image == null) return;
 
         int playerWidth = Player.WIDTH;
         int playerHeight = Player.HEIGHT;
 
-        int x = player.getPosition().x - playerWidth / 2;
-        int y = player.getPosition().y - playerHeight / 2;
+        int x = lerp(frame.getPlayerPreviousX(), frame.getPlayerX(), interpolation) - playerWidth / 2;
+        int y = lerp(frame.getPlayerPreviousY(), frame.getPlayerY(), interpolation) - playerHeight / 2;
 
-        if (player.getFacing() == Player.Direction.RIGHT) {
-            g.drawImage(image, x, y, playerWidth, playerHeight, this);
-        } else {
-            g.drawImage(image, x + playerWidth, y, -playerWidth, playerHeight, this);
-        }
+        g.drawImage(image, x, y, null);
+    }
+
+    // posisi di antara langkah sebelumnya (alpha 0) dan langkah terbaru (alpha 1)
+    private static int lerp(int from, int to, float alpha) {
+        return Math.round(from + (to - from) * alpha);
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package view;
+
+import model.Result;
+import viewmodel.GameViewModel;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * LeaderboardTableModel adalah table model "virtual" untuk papan peringkat.
+ * JTable hanya meminta baris yang terlihat, jadi halaman data diambil saat baris
+ * tersebut pertama kali dibutuhkan (ketika JScrollPane digulir), dan hanya
+ * beberapa halaman terakhir yang disimpan di memori.
+ *
+ * Pengambilan data berjalan di executor milik ViewModel; baris yang belum dimuat
+ * tampil kosong dan diisi setelah hasilnya sampai di EDT.
+ */
+public class LeaderboardTableModel extends AbstractTableModel {
+
+    private static final String[] COLUMN_NAMES = {"Username", "Score", "Count"};
+    private static final int PAGE_SIZE = 50;
+    private static final int MAX_CACHED_PAGES = 6;
+    private static final Executor EDT = SwingUtilities::invokeLater;
+
+    private final GameViewModel viewModel;
+    private int rowCount = 0;
+    // Naik setiap refresh, agar hasil halaman dari sebelum refresh diabaikan
+    private int generation = 0;
+
+    // Halaman yang sedang disimpan (LRU: halaman paling lama tidak dibaca dibuang)
+    private final LinkedHashMap<Integer, List<Result>> pages =
+            new LinkedHashMap<Integer, List<Result>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, List<Result>> eldest) {
+                    return size() > MAX_CACHED_PAGES;
+                }
+            };
+    // Baris terakhir tiap halaman yang pernah dimuat, dipakai sebagai kursor keyset halaman berikutnya
+    private final Map<Integer, Result> pageCursors = new HashMap<>();
+    // Halaman yang sedang diambil, agar tidak diminta dua kali
+    private final Set<Integer> loadingPages = new HashSet<>();
+
+    public LeaderboardTableModel(GameViewModel viewModel) {
+        this.viewModel = viewModel;
+    }
+
+    /**
+     * Memuat ulang jumlah baris dan halaman yang sedang tersimpan.
+     * Hanya baris yang isinya berubah yang dikirimi event update.
+     * Harus dipanggil dari EDT.
+     */
+    public void refresh() {
+        int refreshGeneration = ++generation;
+        viewModel.getScoreCountAsync().whenCompleteAsync((newRowCount, error) -> {
+            if (refreshGeneration != generation) return;
+            if (error != null) {
+                System.err.println("Gagal memuat jumlah baris papan peringkat: " + error.getMessage());
+                return;
+            }
+
+            // ambil ulang halaman yang tersimpan, berurutan agar kursor keyset bisa dipakai lagi
+            List<Integer> loadedPages = new ArrayList<>(pages.keySet());
+            loadedPages.sort(null);
+            Map<Integer, List<Result>> oldPages = new HashMap<>(pages);
+            pages.clear();
+            pageCursors.clear();
+            loadingPages.clear();
+            applyRowCount(newRowCount);
+            reloadPages(loadedPages, 0, oldPages, refreshGeneration);
+        }, EDT);
+    }
+
+    private void applyRowCount(int newRowCount) {
+        int oldRowCount = rowCount;
+        rowCount = newRowCount;
+        if (newRowCount > oldRowCount) {
+            fireTableRowsInserted(oldRowCount, newRowCount - 1);
+        } else if (newRowCount < oldRowCount) {
+            fireTableRowsDeleted(newRowCount, oldRowCount - 1);
+        }
+    }
+
+    // Memuat halaman satu per satu (bukan paralel) agar setiap halaman bisa memakai kursor halaman sebelumnya.
+    // Halaman yang gagal dilewati (tetap kosong dan diminta lagi saat terlihat), lalu rantai dilanjutkan.
+    private void reloadPages(List<Integer> pageIndexes, int position, Map<Integer, List<Result>> oldPages,
+                             int refreshGeneration) {
+        if (position >= pageIndexes.size()) return;
+        int pageIndex = pageIndexes.get(position);
+        if (pageIndex * PAGE_SIZE >= rowCount) return;
+
+        loadingPages.add(pageIndex);
+        fetchPage(pageIndex).whenCompleteAsync((newRows, error) -> {
+            if (refreshGeneration != generation) return;
+            loadingPages.remove(pageIndex);
+            if (error != null) {
+                System.err.println("Gagal memuat ulang halaman papan peringkat " + pageIndex + ": " + error.getMessage());
+                // baris halaman ini sekarang kosong; event update membuat JTable memintanya lagi
+                int firstRow = pageIndex * PAGE_SIZE;
+                fireTableRowsUpdated(firstRow, Math.min(rowCount, firstRow + PAGE_SIZE) - 1);
+                reloadPages(pageIndexes, position + 1, oldPages, refreshGeneration);
+                return;
+            }
+            storePage(pageIndex, newRows);
+            List<Result> oldRows = oldPages.get(pageIndex);
+            int firstRow = pageIndex * PAGE_SIZE;
+            for (int i = 0; i < newRows.size(); i++) {
+                if (i >= oldRows.size() || !oldRows.get(i).equals(newRows.get(i))) {
+                    fireTableRowsUpdated(firstRow + i, firstRow + i);
+                }
+            }
+            reloadPages(pageIndexes, position + 1, oldPages, refreshGeneration);
+        }, EDT);
+    }
+
+    /**
+     * @return Data pemain pada baris tersebut, atau null jika di luar jangkauan / belum dimuat.
+     */
+    public Result getResultAt(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) return null;
+        int pageIndex = rowIndex / PAGE_SIZE;
+        List<Result> page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        int offsetInPage = rowIndex % PAGE_SIZE;
+        return offsetInPage < page.size() ? page.get(offsetInPage) : null;
+    }
+
+    private void requestPage(int pageIndex) {
+        if (!loadingPages.add(pageIndex)) return;
+        int requestGeneration = generation;
+        fetchPage(pageIndex).whenCompleteAsync((page, error) -> {
+            if (requestGeneration != generation) return;
+            loadingPages.remove(pageIndex);
+            if (error != null) {
+                System.err.println("Gagal memuat papan peringkat: " + error.getMessage());
+                return;
+            }
+            storePage(pageIndex, page);
+            int firstRow = pageIndex * PAGE_SIZE;
+            int lastRow = Math.min(rowCount, firstRow + PAGE_SIZE) - 1;
+            if (lastRow >= firstRow) {
+                fireTableRowsUpdated(firstRow, lastRow);
+            }
+        }, EDT);
+    }
+
+    // Mengambil satu halaman: kursor keyset jika ada, OFFSET jika belum
+    private CompletableFuture<List<Result>> fetchPage(int pageIndex) {
+        Result cursor = pageCursors.get(pageIndex - 1);
+        if (pageIndex == 0) {
+            return viewModel.getTopScoresAsync(PAGE_SIZE);
+        } else if (cursor != null) {
+            return viewModel.getScoresAfterAsync(cursor, PAGE_SIZE);
+        } else {
+            return viewModel.getScoresPageAsync(pageIndex * PAGE_SIZE, PAGE_SIZE);
+        }
+    }
+
+    private void storePage(int pageIndex, List<Result> page) {
+        if (!page.isEmpty()) {
+            pageCursors.put(pageIndex, page.get(page.size() - 1));
+        }
+        pages.put(pageIndex, page);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Result result = getResultAt(rowIndex);
+        if (result == null) return null;
+        switch (columnIndex) {
+            case 0: return result.getUsername();
+            case 1: return result.getSkor();
+            case 2: return result.getCount();
+            default: return null;
+        }
+    }
+}
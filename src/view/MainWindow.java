@@ -18,8 +18,13 @@ public class MainWindow extends JFrame {
 
     private Cursor menuCursor, gameCursor;
 
-    public MainWindow() {
-        this.viewModel = new GameViewModel();
+    /**
+     * @param viewModel ViewModel yang sudah dibuat di luar EDT (pemilihan penyimpanan skor bisa menunggu MySQL).
+     */
+    public MainWindow(GameViewModel viewModel) {
+        this.viewModel = viewModel;
+        // bersihkan resource ViewModel saat JVM berhenti (termasuk System.exit dari tombol Exit)
+        Runtime.getRuntime().addShutdownHook(new Thread(viewModel::shutdown, "viewmodel-shutdown"));
 
         // load asset dan audio
         loadAssetsAndAudio();
@@ -99,7 +104,9 @@ public class MainWindow extends JFrame {
     }
 
     public static void main(String[] args) {
+        // Cek koneksi MySQL (sampai connectTimeout) di thread main, agar jendela tidak membeku di EDT
+        GameViewModel viewModel = new GameViewModel();
         // Run the GUI on the Event Dispatch Thread
-        SwingUtilities.invokeLater(MainWindow::new);
+        SwingUtilities.invokeLater(() -> new MainWindow(viewModel));
     }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package view;
+
+import model.Player;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SpriteCache menyimpan aset gambar yang sudah diskalakan ke ukuran gambarnya di layar,
+ * dalam format gambar yang kompatibel dengan GraphicsConfiguration tujuan. Frame Jeff yang
+ * menghadap kiri sudah dicerminkan sejak awal, jadi saat menggambar frame hanya perlu
+ * blit tanpa skala dan tanpa transform, yang bisa dipercepat Java2D (managed image).
+ *
+ * Satu set sprite dibuat sekali per GraphicsConfiguration (misalnya per monitor, atau per
+ * jenis BufferedImage saat menggambar offscreen). Background ikut diskalakan ke ukuran
+ * panel dan dibuat ulang hanya jika ukuran panel berubah.
+ *
+ * Skala memakai nearest neighbor, sama dengan drawImage berskala biasa, jadi hasilnya
+ * identik piksel demi piksel dengan menggambar langsung dari gambar aslinya.
+ */
+public class SpriteCache {
+
+    public static final int FOOD_SIZE = 64;
+    public static final int BASKET_WIDTH = 260;
+    public static final int BASKET_HEIGHT = 220;
+
+    /** Pose animasi Jeff; urutannya dipakai sebagai indeks frame. */
+    public enum Pose { STAND, WALK, JUMP, EAT }
+
+    private final Image background, basket, plate;
+    private final Image[] foods;        // indeks = type id dari FoodCatalog
+    private final Image[] playerFrames; // indeks = Pose.ordinal()
+    private final Image tongueBase, tongueMiddle, tongueTip;
+
+    private final Map<GraphicsConfiguration, Sprites> byConfiguration = new HashMap<>();
+    private Sprites last; // hampir selalu GraphicsConfiguration yang sama dengan frame sebelumnya
+
+    /**
+     * Gambar yang null (gagal dimuat) tetap null di cache dan dilewati saat menggambar.
+     * @param foods Gambar makanan, indeks = type id.
+     * @param playerFrames Gambar Jeff menghadap kanan, indeks = Pose.ordinal().
+     */
+    public SpriteCache(Image background, Image basket, Image plate, Image[] foods, Image[] playerFrames,
+                       Image tongueBase, Image tongueMiddle, Image tongueTip) {
+        this.background = background;
+        this.basket = basket;
+        this.plate = plate;
+        this.foods = foods.clone();
+        this.playerFrames = playerFrames.clone();
+        this.tongueBase = tongueBase;
+        this.tongueMiddle = tongueMiddle;
+        this.tongueTip = tongueTip;
+    }
+
+    /**
+     * @param gc GraphicsConfiguration tujuan gambar (Graphics2D.getDeviceConfiguration()).
+     * @return Sprite untuk gc ini, dengan background seukuran panel width x height.
+     */
+    public Sprites get(GraphicsConfiguration gc, int width, int height) {
+        Sprites sprites = last;
+        if (sprites == null || sprites.configuration != gc) {
+            sprites = byConfiguration.get(gc);
+            if (sprites == null) {
+                sprites = new Sprites(gc);
+                byConfiguration.put(gc, sprites);
+            }
+            last = sprites;
+        }
+        sprites.fitBackground(width, height);
+        return sprites;
+    }
+
+    /** Satu set sprite siap pakai untuk satu GraphicsConfiguration. */
+    public final class Sprites {
+        private final GraphicsConfiguration configuration;
+        private final Image[] foodSprites;
+        private final Image plateSprite, basketSprite;
+        private final Image[] playerRight, playerLeft;
+        private final Image tongueBaseSprite, tongueMiddleSprite, tongueTipSprite;
+        private Image backgroundSprite;
+        private int backgroundWidth, backgroundHeight;
+
+        private Sprites(GraphicsConfiguration gc) {
+            this.configuration = gc;
+            foodSprites = new Image[foods.length];
+            for (int typeId = 0; typeId < foods.length; typeId++) {
+                foodSprites[typeId] = scaled(foods[typeId], FOOD_SIZE, FOOD_SIZE, false);
+            }
+            plateSprite = scaled(plate, FOOD_SIZE, FOOD_SIZE, false);
+            basketSprite = scaled(basket, BASKET_WIDTH, BASKET_HEIGHT, false);
+
+            playerRight = new Image[playerFrames.length];
+            playerLeft = new Image[playerFrames.length];
+            for (int pose = 0; pose < playerFrames.length; pose++) {
+                playerRight[pose] = scaled(playerFrames[pose], Player.WIDTH, Player.HEIGHT, false);
+                playerLeft[pose] = scaled(playerFrames[pose], Player.WIDTH, Player.HEIGHT, true);
+            }
+
+            // lidah digambar dengan rotasi, jadi hanya formatnya yang disamakan; ukurannya tetap
+            tongueBaseSprite = scaled(tongueBase, width(tongueBase), height(tongueBase), false);
+            tongueMiddleSprite = scaled(tongueMiddle, width(tongueMiddle), height(tongueMiddle), false);
+            tongueTipSprite = scaled(tongueTip, width(tongueTip), height(tongueTip), false);
+        }
+
+        private void fitBackground(int width, int height) {
+            if (width == backgroundWidth && height == backgroundHeight) return;
+            if (backgroundSprite != null) backgroundSprite.flush();
+            backgroundSprite = width > 0 && height > 0 ? scaled(background, width, height, false) : null;
+            backgroundWidth = width;
+            backgroundHeight = height;
+        }
+
+        // Membuat salinan source berukuran width x height (dicerminkan horizontal jika mirrored)
+        private Image scaled(Image source, int width, int height, boolean mirrored) {
+            if (source == null || width <= 0 || height <= 0) return null;
+            BufferedImage sprite = configuration != null
+                    ? configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                    : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g = sprite.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Src);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                int sourceWidth = width(source);
+                int sourceHeight = height(source);
+                if (mirrored) {
+                    g.drawImage(source, width, 0, 0, height, 0, 0, sourceWidth, sourceHeight, null);
+                } else {
+                    g.drawImage(source, 0, 0, width, height, 0, 0, sourceWidth, sourceHeight, null);
+                }
+            } finally {
+                g.dispose();
+            }
+            sprite.setAccelerationPriority(1f);
+            return sprite;
+        }
+
+        /** @return Gambar makanan 64x64, atau null jika gambarnya gagal dimuat. */
+        public Image getFood(int typeId) { return foodSprites[typeId]; }
+        public Image getPlate() { return plateSprite; }
+        public Image getBasket() { return basketSprite; }
+        public Image getBackground() { return backgroundSprite; }
+
+        /** @return Frame Jeff berukuran Player.WIDTH x Player.HEIGHT, sudah menghadap ke arah facing. */
+        public Image getPlayer(Pose pose, Player.Direction facing) {
+            return (facing == Player.Direction.LEFT ? playerLeft : playerRight)[pose.ordinal()];
+        }
+
+        public Image getTongueBase() { return tongueBaseSprite; }
+        public Image getTongueMiddle() { return tongueMiddleSprite; }
+        public Image getTongueTip() { return tongueTipSprite; }
+    }
+
+    // gambar dari ImageIO sudah termuat penuh, jadi observer tidak diperlukan
+    private static int width(Image image) { return image == null ? 0 : image.getWidth(null); }
+    private static int height(Image image) { return image == null ? 0 : image.getHeight(null); }
+}
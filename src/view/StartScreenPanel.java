@@ -6,13 +6,11 @@ import viewmodel.GameViewModel;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicScrollBarUI;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.List;
 import java.awt.FontFormatException;
 
 /**
@@ -29,7 +27,7 @@ public class StartScreenPanel extends JPanel {
     // Komponen UI
     private JTextField usernameField;
     private JTable scoreTable;
-    private DefaultTableModel tableModel;
+    private LeaderboardTableModel tableModel;
     private JButton muteToggleButton;
 
     // Aset Gambar & Font
@@ -132,7 +130,7 @@ public class StartScreenPanel extends JPanel {
      * @return JScrollPane yang sudah di-style.
      */
     private JScrollPane createLeaderboardComponent() {
-        tableModel = new DefaultTableModel(new String[]{"Username", "Score", "Count"}, 0);
+        tableModel = new LeaderboardTableModel(viewModel);
         scoreTable = new JTable(tableModel);
         styleTable(scoreTable);
         JScrollPane scrollPane = new JScrollPane(scoreTable);
@@ -201,8 +199,10 @@ public class StartScreenPanel extends JPanel {
             if (!e.getValueIsAdjusting()) {
                 int selectedRow = scoreTable.getSelectedRow();
                 if (selectedRow != -1 && selectedRow < scoreTable.getRowCount()) {
-                    String username = scoreTable.getValueAt(selectedRow, 0).toString();
-                    usernameField.setText(username);
+                    Object username = scoreTable.getValueAt(selectedRow, 0);
+                    if (username != null) {
+                        usernameField.setText(username.toString());
+                    }
                 }
             }
         });
@@ -231,6 +231,11 @@ public class StartScreenPanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Please enter a username.", "Error", JOptionPane.ERROR_MESSAGE);
             return;
         }
+        if (username.length() > Result.MAX_USERNAME_LENGTH) {
+            JOptionPane.showMessageDialog(this, "Username must be at most " + Result.MAX_USERNAME_LENGTH + " characters.",
+                    "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
         viewModel.startGame(username, mainWindow.getWidth(), mainWindow.getHeight());
         mainWindow.showPanel("GamePanel");
     }
@@ -262,15 +267,10 @@ public class StartScreenPanel extends JPanel {
     }
 
     /**
-     * Memuat data skor dari ViewModel dan menampilkannya di tabel.
+     * Menyegarkan papan peringkat. Table model hanya memuat halaman yang sedang terlihat.
      */
     private void populateScoreTable() {
-        tableModel.setRowCount(0);
-        List<Result> scores = viewModel.getAllScores();
-        if (scores == null) return;
-        for (Result result : scores) {
-            tableModel.addRow(new Object[]{result.getUsername(), result.getSkor(), result.getCount()});
-        }
+        tableModel.refresh();
     }
 
     // Metode helper untuk styling komponen
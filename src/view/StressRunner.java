@@ -0,0 +1,103 @@
+package view;
+
+import model.FileScoreRepository;
+import viewmodel.FrameSnapshot;
+import viewmodel.GameSimulation;
+import viewmodel.GameViewModel;
+import viewmodel.SpawnBudget;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * StressRunner menaikkan jumlah makanan hidup sampai ribuan atau puluhan ribu mengikuti
+ * SpawnBudget, lalu mengukur waktu langkah simulasi dan waktu menggambar GamePanel
+ * (ke BufferedImage offscreen) terhadap jumlah makanan. Hasilnya ditulis ke CSV,
+ * satu baris per setengah detik permainan.
+ *
+ * Simulasi dijalankan langkah demi langkah tanpa menunggu jam, jadi lama run bergantung
+ * pada mesin. Jeff diam saja agar yang terukur hanya beban makanan.
+ *
+ * Pemakaian (tambahkan -Djava.awt.headless=true jika tidak ada layar):
+ *   java -cp bin;resources view.StressRunner [maksMakanan] [detikNaik] [kurva] [file.csv]
+ *        [detikTahan] [langkahPerMakanan] [lebar] [tinggi]
+ * kurva: linear, quadratic, atau exponential.
+ */
+public class StressRunner {
+
+    private static final int STEPS_PER_ROW = GameSimulation.STEPS_PER_SECOND / 2;
+
+    public static void main(String[] args) throws IOException {
+        int maxFood = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        double rampSeconds = args.length > 1 ? Double.parseDouble(args[1]) : 60;
+        SpawnBudget.Curve curve = args.length > 2 ? SpawnBudget.parseCurve(args[2]) : SpawnBudget.Curve.LINEAR;
+        File output = new File(args.length > 3 ? args[3] : "stress.csv");
+        double holdSeconds = args.length > 4 ? Double.parseDouble(args[4]) : 5;
+        int spawnsPerStep = args.length > 5 ? Integer.parseInt(args[5]) : 1_000;
+        int width = args.length > 6 ? Integer.parseInt(args[6]) : 900;
+        int height = args.length > 7 ? Integer.parseInt(args[7]) : 700;
+
+        SpawnBudget budget = SpawnBudget.stress(maxFood, rampSeconds, curve, spawnsPerStep);
+        File repositoryDirectory = Files.createTempDirectory("jeff-stress").toFile();
+        GameViewModel viewModel = new GameViewModel(new FileScoreRepository(repositoryDirectory));
+        viewModel.setSpawnBudget(budget);
+        GamePanel panel = new GamePanel(null, viewModel);
+        panel.setSize(width, height);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        viewModel.startGame("stress", width, height);
+        viewModel.setViewportSize(width, height);
+        long totalSteps = Math.round((rampSeconds + holdSeconds) * GameSimulation.STEPS_PER_SECOND);
+        System.out.println("Stress: " + budget + ", " + totalSteps + " langkah, " + width + "x" + height);
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8))) {
+            csv.println("detik,target,makanan,sim_rata2_us,sim_maks_us,render_rata2_us,render_maks_us,frame_rata2_us");
+            long simTotal = 0, simMax = 0, renderTotal = 0, renderMax = 0;
+            long worstFrame = 0;
+            int worstFrameFood = 0;
+            for (long step = 1; step <= totalSteps; step++) {
+                long start = System.nanoTime();
+                viewModel.simulationStep();
+                long simulated = System.nanoTime();
+                Graphics2D g = image.createGraphics();
+                try {
+                    panel.paint(g);
+                } finally {
+                    g.dispose();
+                }
+                long rendered = System.nanoTime();
+
+                simTotal += simulated - start;
+                simMax = Math.max(simMax, simulated - start);
+                renderTotal += rendered - simulated;
+                renderMax = Math.max(renderMax, rendered - simulated);
+
+                if (step % STEPS_PER_ROW == 0) {
+                    FrameSnapshot frame = viewModel.acquireFrame();
+                    long frameMean = (simTotal + renderTotal) / STEPS_PER_ROW;
+                    if (frameMean > worstFrame) {
+                        worstFrame = frameMean;
+                        worstFrameFood = frame.size();
+                    }
+                    csv.println(String.format(Locale.ROOT, "%.1f,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f",
+                            (double) step / GameSimulation.STEPS_PER_SECOND, budget.targetAt(step), frame.size(),
+                            simTotal / 1_000.0 / STEPS_PER_ROW, simMax / 1_000.0,
+                            renderTotal / 1_000.0 / STEPS_PER_ROW, renderMax / 1_000.0,
+                            frameMean / 1_000.0));
+                    simTotal = simMax = renderTotal = renderMax = 0;
+                }
+            }
+            System.out.printf(Locale.ROOT, "Frame terberat: %.2f ms rata-rata dengan %d makanan%n",
+                    worstFrame / 1e6, worstFrameFood);
+        } finally {
+            viewModel.shutdown();
+        }
+        System.out.println("Hasil ditulis ke " + output.getAbsolutePath());
+    }
+}
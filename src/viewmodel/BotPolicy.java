@@ -0,0 +1,30 @@
+package viewmodel;
+
+import java.awt.Point;
+
+/**
+ * BotPolicy adalah pemain otomatis untuk HeadlessRunner dan BotTournament.
+ * Setiap langkah, runner memanggil chooseMovement lalu (jika laso menganggur) aimLasso,
+ * sebelum GameSimulation.update.
+ *
+ * Satu instance hanya dipakai oleh satu simulasi di satu thread, jadi policy boleh
+ * menyimpan state antar langkah (misalnya target yang dipilih di chooseMovement)
+ * tanpa sinkronisasi. Untuk menjalankan banyak simulasi, buat instance baru per simulasi.
+ * Kedua metode sebaiknya tidak mengalokasikan objek.
+ */
+public interface BotPolicy {
+
+    /** @return Tombol arah untuk langkah ini (bit GameSimulation.MOVE_*), 0 untuk diam. */
+    int chooseMovement(GameSimulation simulation, int width, int height);
+
+    /**
+     * Dipanggil hanya jika laso sedang IDLE.
+     * @param target Diisi dengan titik tujuan laso. Objek ini milik runner dan tidak diubah
+     *               selama laso memanjang, jadi aman dipakai ulang.
+     * @return true jika laso ditembakkan ke target.
+     */
+    boolean aimLasso(GameSimulation simulation, int width, int height, Point target);
+
+    /** Nama pendek untuk laporan dan argumen baris perintah. */
+    String getName();
+}
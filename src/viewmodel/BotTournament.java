@@ -0,0 +1,251 @@
+package viewmodel;
+
+import model.FoodCatalog;
+
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * BotTournament memainkan ribuan sesi penuh secara paralel di ForkJoinPool, dimainkan oleh
+ * BotPolicy yang bisa diganti, lalu menggabungkan distribusi skor dan statistik spawn.
+ * Dipakai untuk membandingkan perubahan katalog/bobot makanan (lihat jeff.food.catalog)
+ * atau strategi bot, tanpa membuka game.
+ *
+ * Setiap batch sesi punya HeadlessRunner (GameSimulation, Random, bot) sendiri dan hasilnya
+ * dikembalikan sebagai nilai, bukan ditulis ke state bersama; tidak ada lock atau state
+ * statis yang bisa berubah, jadi tugas tidak saling menunggu. Seberapa jauh throughput
+ * naik per core belum diukur di mesin multi-core; ukur dengan --scaling.
+ * Seed setiap sesi diturunkan dari seed turnamen dan nomor sesi, sehingga hasilnya
+ * sama persis berapa pun jumlah thread-nya.
+ *
+ * Pemakaian:
+ *   java -cp bin:resources viewmodel.BotTournament [sesi] [detik per sesi] [seed] [bot,bot,...]
+ *        [thread] [lebar] [tinggi]
+ *   java -cp bin:resources viewmodel.BotTournament --scaling [sesi] [detik per sesi] [seed] [bot]
+ * bot: nearest (NearestFoodBot) atau lead (LeadingAimBot). --scaling mengulang turnamen
+ * dengan 1, 2, 4, ... thread sampai jumlah core dan mencetak speedup-nya.
+ */
+public class BotTournament {
+
+    private static final int SESSIONS_PER_TASK = 8; // sesi per tugas daun; cukup besar untuk menutup biaya membuat simulasi
+
+    private final Supplier<BotPolicy> policies;
+    private final int sessions;
+    private final int steps;
+    private final long seed;
+    private final int width;
+    private final int height;
+
+    /**
+     * @param policies Membuat bot baru untuk setiap batch sesi (satu instance per thread).
+     * @param sessions Jumlah sesi.
+     * @param steps Langkah simulasi per sesi.
+     */
+    public BotTournament(Supplier<BotPolicy> policies, int sessions, int steps, long seed, int width, int height) {
+        this.policies = policies;
+        this.sessions = sessions;
+        this.steps = steps;
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Memainkan semua sesi di pool ini dan menunggu hasil gabungannya. */
+    public Result run(ForkJoinPool pool) {
+        return pool.invoke(new SessionBatch(0, sessions));
+    }
+
+    /** Hasil sekumpulan sesi; digabung dari bawah ke atas oleh SessionBatch. */
+    public static class Result {
+        private final ScoreHistogram scores = new ScoreHistogram();
+        private final ScoreHistogram counts = new ScoreHistogram();
+        private final long[] spawned, eaten, escaped; // indeks = type id
+        private int sessions = 0;
+
+        Result(int typeCount) {
+            spawned = new long[typeCount];
+            eaten = new long[typeCount];
+            escaped = new long[typeCount];
+        }
+
+        void merge(Result other) {
+            scores.merge(other.scores);
+            counts.merge(other.counts);
+            for (int i = 0; i < spawned.length; i++) {
+                spawned[i] += other.spawned[i];
+                eaten[i] += other.eaten[i];
+                escaped[i] += other.escaped[i];
+            }
+            sessions += other.sessions;
+        }
+
+        public ScoreHistogram getScores() { return scores; }
+        public ScoreHistogram getCounts() { return counts; }
+        public long[] getSpawnedCounts() { return spawned.clone(); }
+        public long[] getEatenCounts() { return eaten.clone(); }
+        public long[] getEscapedCounts() { return escaped.clone(); }
+        public int getSessions() { return sessions; }
+    }
+
+    // Membagi rentang sesi [from, to) menjadi dua sampai cukup kecil, lalu memainkannya
+    private class SessionBatch extends RecursiveTask<Result> {
+        private final int from;
+        private final int to;
+
+        SessionBatch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from <= SESSIONS_PER_TASK) return play();
+            int middle = (from + to) >>> 1;
+            SessionBatch left = new SessionBatch(from, middle);
+            left.fork();
+            Result result = new SessionBatch(middle, to).compute();
+            result.merge(left.join());
+            return result;
+        }
+
+        private Result play() {
+            HeadlessRunner runner = new HeadlessRunner(seed, width, height, policies.get());
+            GameSimulation simulation = runner.getSimulation();
+            Result result = new Result(simulation.getFoodCatalog().size());
+            for (int i = from; i < to; i++) {
+                runner.playSession(steps, sessionSeed(seed, i));
+                result.scores.add(simulation.getCurrentScore());
+                result.counts.add(simulation.getCurrentCount());
+            }
+            // statistik spawn simulasi ini kumulatif sejak dibuat, yaitu tepat sesi-sesi di batch ini
+            int[] spawned = simulation.getSpawnedCounts();
+            int[] eaten = simulation.getEatenCounts();
+            int[] escaped = simulation.getEscapedCounts();
+            for (int t = 0; t < spawned.length; t++) {
+                result.spawned[t] = spawned[t];
+                result.eaten[t] = eaten[t];
+                result.escaped[t] = escaped[t];
+            }
+            result.sessions = to - from;
+            return result;
+        }
+    }
+
+    /** Seed sesi ke-index (SplitMix64), tidak bergantung pada thread yang memainkannya. */
+    static long sessionSeed(long seed, int index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return Pembuat bot untuk nama pendeknya (lihat BotPolicy.getName). */
+    public static Supplier<BotPolicy> policyNamed(String name) {
+        switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "nearest": return NearestFoodBot::new;
+            case "lead": return LeadingAimBot::new;
+            default: throw new IllegalArgumentException("Bot tidak dikenal: " + name + " (pilihan: nearest, lead)");
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--scaling")) {
+            String[] rest = new String[args.length - 1];
+            System.arraycopy(args, 1, rest, 0, rest.length);
+            printScaling(rest);
+            return;
+        }
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int secondsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        String[] bots = (args.length > 3 ? args[3] : "nearest,lead").split(",");
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        int width = args.length > 5 ? Integer.parseInt(args[5]) : 900;
+        int height = args.length > 6 ? Integer.parseInt(args[6]) : 700;
+        int steps = secondsPerSession * GameSimulation.STEPS_PER_SECOND;
+
+        System.out.printf("%d sesi x %d detik per bot, seed %d, layar %dx%d, %d thread%n",
+                sessions, secondsPerSession, seed, width, height, threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            double baselineMean = 0;
+            for (int b = 0; b < bots.length; b++) {
+                BotTournament tournament = new BotTournament(policyNamed(bots[b]), sessions, steps, seed, width, height);
+                long start = System.nanoTime();
+                Result result = tournament.run(pool);
+                double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+                System.out.printf("%n== bot %s: %.2f s (%.0f sesi/s)%n", bots[b].trim(), elapsedSeconds,
+                        sessions / elapsedSeconds);
+                printDistribution("skor ", result.getScores());
+                printDistribution("count", result.getCounts());
+                if (b == 0) {
+                    baselineMean = result.getScores().getMean();
+                } else {
+                    System.out.printf("selisih rata-rata skor dari %s: %+.1f%n", bots[0].trim(),
+                            result.getScores().getMean() - baselineMean);
+                }
+                printSpawnStats(result);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Turnamen yang sama dengan 1, 2, 4, ... thread; hasilnya harus sama, hanya waktunya yang berubah
+    private static void printScaling(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 4_000;
+        int secondsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        Supplier<BotPolicy> policies = policyNamed(args.length > 3 ? args[3] : "nearest");
+        int steps = secondsPerSession * GameSimulation.STEPS_PER_SECOND;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        BotTournament tournament = new BotTournament(policies, sessions, steps, seed, 900, 700);
+        // pemanasan JIT agar baris pertama tidak dirugikan
+        ForkJoinPool warmup = new ForkJoinPool(cores);
+        new BotTournament(policies, Math.min(sessions, 500), steps, seed, 900, 700).run(warmup);
+        warmup.shutdown();
+
+        System.out.printf("%d sesi x %d detik, %d core%n", sessions, secondsPerSession, cores);
+        System.out.printf("%7s %9s %9s %8s %9s  %s%n", "thread", "waktu s", "sesi/s", "speedup", "efisiensi", "skor rata2");
+        double single = 0;
+        for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(cores, threads * 2) : cores + 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long start = System.nanoTime();
+            Result result = tournament.run(pool);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+            if (threads == 1) single = seconds;
+            System.out.printf(Locale.ROOT, "%7d %9.2f %9.0f %7.2fx %8.0f%%  %.3f%n", threads, seconds,
+                    sessions / seconds, single / seconds, 100 * single / seconds / threads,
+                    result.getScores().getMean());
+        }
+    }
+
+    private static void printDistribution(String label, ScoreHistogram histogram) {
+        System.out.printf("%s: mean %.1f, min %d, p10 %d, p50 %d, p90 %d, p99 %d, max %d%n", label,
+                histogram.getMean(), histogram.getMin(), histogram.getPercentile(0.1),
+                histogram.getPercentile(0.5), histogram.getPercentile(0.9), histogram.getPercentile(0.99),
+                histogram.getMax());
+    }
+
+    private static void printSpawnStats(Result result) {
+        FoodCatalog catalog = FoodCatalog.getDefault();
+        long[] spawned = result.getSpawnedCounts();
+        long[] eaten = result.getEatenCounts();
+        long[] escaped = result.getEscapedCounts();
+        long totalSpawned = 0;
+        for (long count : spawned) totalSpawned += count;
+
+        System.out.printf("%-11s %6s %10s %8s %10s %10s %8s%n",
+                "makanan", "nilai", "spawn", "spawn %", "dimakan", "lolos", "makan %");
+        for (int i = 0; i < spawned.length; i++) {
+            System.out.printf("%-11s %6d %10d %7.1f%% %10d %10d %7.1f%%%n", catalog.getName(i), catalog.getValue(i),
+                    spawned[i], 100.0 * spawned[i] / Math.max(1, totalSpawned), eaten[i], escaped[i],
+                    100.0 * eaten[i] / Math.max(1, spawned[i]));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package viewmodel;
+
+/**
+ * FixedStepLoop menjalankan simulasi dengan langkah waktu tetap, terlepas dari
+ * seberapa sering (atau seberapa telat) frame digambar.
+ *
+ * Waktu nyata yang berlalu sejak frame sebelumnya dikumpulkan di akumulator,
+ * lalu simulasi dijalankan sebanyak langkah utuh yang muat di dalamnya.
+ * Sisa akumulator (alpha, 0..1) dipakai View untuk menginterpolasi posisi
+ * antara dua state terakhir.
+ *
+ * Batas catch-up mencegah "spiral of death": jeda panjang (misalnya GC atau
+ * jendela di-drag) dipotong, dan jumlah langkah per frame dibatasi.
+ */
+public class FixedStepLoop {
+
+    private final long stepNanos;
+    private final int maxStepsPerFrame;
+    private final long maxFrameNanos;
+
+    private long lastTime = -1;
+    private long accumulator = 0;
+    private long totalSteps = 0;
+    private long droppedNanos = 0;
+
+    /**
+     * @param stepsPerSecond Frekuensi simulasi (langkah per detik).
+     * @param maxStepsPerFrame Jumlah langkah maksimum dalam satu frame.
+     * @param maxFrameMs Selisih waktu maksimum yang dihitung untuk satu frame.
+     */
+    public FixedStepLoop(int stepsPerSecond, int maxStepsPerFrame, long maxFrameMs) {
+        this.stepNanos = 1_000_000_000L / stepsPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+        this.maxFrameNanos = maxFrameMs * 1_000_000L;
+    }
+
+    /**
+     * Menjalankan langkah simulasi yang sudah jatuh tempo.
+     * @param nowNanos Waktu sekarang (System.nanoTime()).
+     * @param step Satu langkah simulasi.
+     * @return Jumlah langkah yang dijalankan pada frame ini.
+     */
+    public int advance(long nowNanos, Runnable step) {
+        if (lastTime < 0) {
+            lastTime = nowNanos;
+            return 0;
+        }
+        long frameNanos = nowNanos - lastTime;
+        lastTime = nowNanos;
+        if (frameNanos > maxFrameNanos) {
+            droppedNanos += frameNanos - maxFrameNanos;
+            frameNanos = maxFrameNanos;
+        }
+        accumulator += frameNanos;
+
+        int steps = 0;
+        while (accumulator >= stepNanos && steps < maxStepsPerFrame) {
+            step.run();
+            accumulator -= stepNanos;
+            steps++;
+        }
+        // masih tertinggal setelah batas langkah: buang sisa langkah utuh, simpan pecahannya
+        if (accumulator >= stepNanos) {
+            long excess = accumulator - accumulator % stepNanos;
+            droppedNanos += excess;
+            accumulator -= excess;
+        }
+        totalSteps += steps;
+        return steps;
+    }
+
+    /**
+     * @return Posisi frame di antara state sebelumnya (0) dan state terbaru (1).
+     */
+    public float getAlpha() {
+        return (float) accumulator / stepNanos;
+    }
+
+    /** Melupakan waktu yang sudah berlalu, misalnya saat game dijeda atau panel disembunyikan. */
+    public void reset() {
+        lastTime = -1;
+        accumulator = 0;
+    }
+
+    public long getStepNanos() { return stepNanos; }
+    public long getTotalSteps() { return totalSteps; }
+    /** @return Total waktu simulasi yang dibuang karena batas catch-up. */
+    public long getDroppedNanos() { return droppedNanos; }
+}
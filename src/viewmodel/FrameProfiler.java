@@ -0,0 +1,209 @@
+package viewmodel;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FrameProfiler mengukur durasi setiap fase update dan render, interval antar frame,
+ * latensi dari input sampai frame yang menampilkannya, serta jumlah GC dan laju alokasi,
+ * untuk ditampilkan di overlay debug (F3).
+ *
+ * Profiler hanya dipasang saat overlay aktif; saat mati, pemanggil memegang null dan
+ * setiap fase hanya melewati satu cabang "profiler != null" tanpa membaca jam.
+ *
+ * Setiap fase ditulis oleh satu thread saja (fase update oleh thread simulasi, fase
+ * render oleh EDT), sedangkan overlay membaca dari EDT; karena itu sampel fase disimpan
+ * di AtomicLongArray. Data frame, latensi input, dan runtime hanya disentuh EDT.
+ */
+public class FrameProfiler {
+
+    public enum Phase {
+        FLOATING_SCORES("skor mengambang"),
+        LASSO("laso"),
+        FOOD("makanan"),
+        SPAWN("spawn"),
+        SNAPSHOT("snapshot"),
+        DRAW_BACKGROUND("gambar latar"),
+        DRAW_PLAYER("gambar jeff+laso"),
+        DRAW_FOOD("gambar makanan"),
+        DRAW_BASKET("gambar keranjang"),
+        DRAW_SCORES("gambar skor"),
+        DRAW_PAUSE("gambar pause");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final int WINDOW = 120;                     // sampel terakhir per fase dan per frame
+    private static final long RUNTIME_SAMPLE_NANOS = 500_000_000L;
+
+    // Sampel durasi fase (ns): fase i memakai indeks i*WINDOW .. i*WINDOW+WINDOW-1
+    private final AtomicLongArray phaseSamples = new AtomicLongArray(PHASES.length * WINDOW);
+    private final AtomicLongArray phaseCounts = new AtomicLongArray(PHASES.length);
+
+    // Interval antar frame (ns), hanya EDT
+    private final long[] frameIntervals = new long[WINDOW];
+    private final long[] sortedIntervals = new long[WINDOW];
+    private int frameCount = 0;
+    private long lastFrameNanos = -1;
+
+    // Latensi input ke frame (ns), hanya EDT
+    private final long[] inputLatencies = new long[WINDOW];
+    private final long[] sortedLatencies = new long[WINDOW];
+    private int inputLatencyCount = 0;
+
+    // Runtime (GC, alokasi), hanya EDT
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long lastRuntimeSampleNanos = -1;
+    private long lastGcCount = -1, lastGcMillis, lastAllocatedBytes;
+    private long gcCount, gcCountPerSecond, gcMillisPerSecond;
+    private double allocationBytesPerSecond = -1; // -1 jika JVM tidak mendukung
+
+    /**
+     * Mencatat durasi satu fase.
+     * @param startNanos Waktu mulai fase (System.nanoTime()).
+     * @return Waktu sekarang, untuk dipakai sebagai awal fase berikutnya.
+     */
+    public long record(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        int ordinal = phase.ordinal();
+        long n = phaseCounts.get(ordinal);
+        phaseSamples.lazySet(ordinal * WINDOW + (int) (n % WINDOW), now - startNanos);
+        phaseCounts.lazySet(ordinal, n + 1);
+        return now;
+    }
+
+    /** Mencatat awal frame baru (dipanggil sekali per frame dari EDT). */
+    public void recordFrame(long nowNanos) {
+        if (lastFrameNanos >= 0) {
+            frameIntervals[frameCount % WINDOW] = nowNanos - lastFrameNanos;
+            frameCount++;
+        }
+        lastFrameNanos = nowNanos;
+        if (lastRuntimeSampleNanos < 0 || nowNanos - lastRuntimeSampleNanos >= RUNTIME_SAMPLE_NANOS) {
+            sampleRuntime(nowNanos);
+        }
+    }
+
+    /**
+     * Mencatat latensi satu input: dari event input sampai frame pertama yang menampilkan
+     * langkah simulasi yang memprosesnya selesai digambar. Dipanggil dari EDT.
+     */
+    public void recordInputLatency(long latencyNanos) {
+        inputLatencies[inputLatencyCount % WINDOW] = Math.max(0, latencyNanos);
+        inputLatencyCount++;
+    }
+
+    /** Melupakan semua sampel, misalnya saat overlay baru dinyalakan. */
+    public void reset() {
+        for (int i = 0; i < phaseSamples.length(); i++) phaseSamples.set(i, 0);
+        for (int i = 0; i < phaseCounts.length(); i++) phaseCounts.set(i, 0);
+        frameCount = 0;
+        lastFrameNanos = -1;
+        inputLatencyCount = 0;
+        lastRuntimeSampleNanos = -1;
+        lastGcCount = -1;
+    }
+
+    private void sampleRuntime(long nowNanos) {
+        long count = 0, millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        long allocated = totalAllocatedBytes();
+
+        if (lastGcCount >= 0) {
+            double seconds = (nowNanos - lastRuntimeSampleNanos) / 1e9;
+            gcCountPerSecond = Math.round((count - lastGcCount) / seconds);
+            gcMillisPerSecond = Math.round((millis - lastGcMillis) / seconds);
+            // thread yang sudah mati tidak ikut dijumlah, jadi selisihnya bisa negatif
+            allocationBytesPerSecond = allocated < 0 ? -1 : Math.max(0, allocated - lastAllocatedBytes) / seconds;
+        }
+        gcCount = count;
+        lastGcCount = count;
+        lastGcMillis = millis;
+        lastAllocatedBytes = allocated;
+        lastRuntimeSampleNanos = nowNanos;
+    }
+
+    // jumlah byte yang pernah dialokasikan oleh semua thread yang masih hidup, -1 jika tidak didukung
+    private long totalAllocatedBytes() {
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return -1;
+        com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+        if (!counters.isThreadAllocatedMemorySupported() || !counters.isThreadAllocatedMemoryEnabled()) return -1;
+        long total = 0;
+        for (long bytes : counters.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) total += bytes;
+        }
+        return total;
+    }
+
+    // =========================================================================
+    // STATISTIK (dibaca overlay di EDT)
+    // =========================================================================
+
+    /** @return Rata-rata durasi fase dalam mikrodetik, atas sampel terakhir. */
+    public double getPhaseMeanMicros(Phase phase) {
+        int n = (int) Math.min(WINDOW, phaseCounts.get(phase.ordinal()));
+        if (n == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < n; i++) total += phaseSamples.get(phase.ordinal() * WINDOW + i);
+        return total / 1_000.0 / n;
+    }
+
+    /** @return Durasi fase terlama dalam mikrodetik, atas sampel terakhir. */
+    public double getPhaseMaxMicros(Phase phase) {
+        int n = (int) Math.min(WINDOW, phaseCounts.get(phase.ordinal()));
+        long max = 0;
+        for (int i = 0; i < n; i++) max = Math.max(max, phaseSamples.get(phase.ordinal() * WINDOW + i));
+        return max / 1_000.0;
+    }
+
+    public double getFps() {
+        int n = Math.min(WINDOW, frameCount);
+        if (n == 0) return 0;
+        long total = 0;
+        for (int i = 0; i < n; i++) total += frameIntervals[i];
+        return total == 0 ? 0 : n * 1e9 / total;
+    }
+
+    /** @return Persentil interval frame dalam milidetik, misalnya 0.5 atau 0.99. */
+    public double getFramePercentileMillis(double percentile) {
+        int n = Math.min(WINDOW, frameCount);
+        if (n == 0) return 0;
+        System.arraycopy(frameIntervals, 0, sortedIntervals, 0, n);
+        Arrays.sort(sortedIntervals, 0, n);
+        return sortedIntervals[Math.min(n - 1, (int) (n * percentile))] / 1e6;
+    }
+
+    /** @return Persentil latensi input ke frame dalam milidetik, atas input terakhir. */
+    public double getInputLatencyPercentileMillis(double percentile) {
+        int n = Math.min(WINDOW, inputLatencyCount);
+        if (n == 0) return 0;
+        System.arraycopy(inputLatencies, 0, sortedLatencies, 0, n);
+        Arrays.sort(sortedLatencies, 0, n);
+        return sortedLatencies[Math.min(n - 1, (int) (n * percentile))] / 1e6;
+    }
+
+    /** @return Jumlah input yang latensinya tercatat sejak reset. */
+    public int getInputLatencyCount() { return inputLatencyCount; }
+
+    public static Phase[] getPhases() { return PHASES.clone(); }
+    public long getGcCount() { return gcCount; }
+    public long getGcCountPerSecond() { return gcCountPerSecond; }
+    public long getGcMillisPerSecond() { return gcMillisPerSecond; }
+    /** @return Laju alokasi semua thread dalam byte per detik, atau -1 jika tidak didukung. */
+    public double getAllocationBytesPerSecond() { return allocationBytesPerSecond; }
+}
@@ -0,0 +1,228 @@
+package viewmodel;
+
+import model.FloatingScore;
+import model.Food;
+import model.FoodView;
+import model.Lasso;
+import model.Player;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * FrameSnapshot adalah salinan semua yang perlu digambar dari satu langkah simulasi:
+ * pemain, laso, makanan, skor mengambang, skor, dan state game, termasuk posisi
+ * langkah sebelumnya untuk interpolasi.
+ *
+ * Snapshot diisi oleh thread simulasi lalu diserahkan ke View lewat SnapshotExchange.
+ * Selama View memegangnya, tidak ada yang menulis ke snapshot itu, jadi View selalu
+ * melihat satu frame yang konsisten tanpa lock. Array dipakai ulang antar frame.
+ */
+public class FrameSnapshot implements FoodView {
+
+    private static final long STEP_NANOS = 1_000_000_000L / GameSimulation.STEPS_PER_SECOND;
+
+    volatile long sequence; // 0 = belum pernah diisi; dibaca pembaca SnapshotExchange tanpa lock
+    private long publishedNanos;
+    private GameViewModel.GameState gameState = GameViewModel.GameState.START_SCREEN;
+    private int score;
+    private int count;
+    private long inputSequence; // jumlah langkah yang sudah menerima input sampai snapshot ini
+    private long inputNanos;    // waktu input tertua pada langkah terakhir yang menerima input
+
+    // Pemain
+    private boolean hasPlayer;
+    private int playerX, playerY, playerPreviousX, playerPreviousY;
+    private Player.Direction facing = Player.Direction.RIGHT;
+    private Player.PlayerState playerState = Player.PlayerState.IDLE;
+    private boolean alternateFrame; // frame animasi kedua (lompat saat diam, langkah saat berjalan)
+
+    // Laso
+    private Lasso.LassoState lassoState = Lasso.LassoState.IDLE;
+    private int lassoStartX, lassoStartY, lassoEndX, lassoEndY;
+    private int lassoPreviousStartX, lassoPreviousStartY, lassoPreviousEndX, lassoPreviousEndY;
+
+    // Makanan (slot sama dengan FoodStore pada langkah ini)
+    private int foodCount = 0;
+    private int[] foodIds = new int[16];
+    private int[] foodXs = new int[16], foodYs = new int[16];
+    private int[] foodPreviousXs = new int[16], foodPreviousYs = new int[16];
+    private int[] foodTypeIds = new int[16];
+    private int[] foodSpeeds = new int[16];
+    private int[] foodValues = new int[16];
+    private String[] foodNames = new String[16];
+    private Food.FoodType[] foodTypes = new Food.FoodType[16];
+    private Food.FoodState[] foodStates = new Food.FoodState[16];
+
+    // Skor mengambang
+    private int scoreCount = 0;
+    private float[] scoreXs = new float[8], scoreYs = new float[8], scorePreviousYs = new float[8];
+    private float[] scoreOpacities = new float[8];
+    private String[] scoreTexts = new String[8];
+    private Color[] scoreColors = new Color[8];
+
+    /** Menyalin state simulasi ke snapshot ini. Hanya dipanggil oleh pemilik snapshot (thread simulasi). */
+    void capture(GameSimulation simulation, GameViewModel.GameState gameState, boolean alternateFrame,
+                 long inputSequence, long inputNanos, long nowNanos) {
+        this.publishedNanos = nowNanos;
+        this.inputSequence = inputSequence;
+        this.inputNanos = inputNanos;
+        this.gameState = gameState;
+        this.score = simulation.getCurrentScore();
+        this.count = simulation.getCurrentCount();
+        this.alternateFrame = alternateFrame;
+
+        Player player = simulation.getPlayer();
+        this.hasPlayer = player != null;
+        if (!hasPlayer) {
+            foodCount = 0;
+            scoreCount = 0;
+            return;
+        }
+        playerX = player.getPosition().x;
+        playerY = player.getPosition().y;
+        playerPreviousX = player.getPreviousPosition().x;
+        playerPreviousY = player.getPreviousPosition().y;
+        facing = player.getFacing();
+        playerState = player.getState();
+
+        Lasso lasso = simulation.getLasso();
+        lassoState = lasso.getState();
+        lassoStartX = lasso.getStartPoint().x;
+        lassoStartY = lasso.getStartPoint().y;
+        lassoEndX = lasso.getEndPoint().x;
+        lassoEndY = lasso.getEndPoint().y;
+        lassoPreviousStartX = lasso.getPreviousStartPoint().x;
+        lassoPreviousStartY = lasso.getPreviousStartPoint().y;
+        lassoPreviousEndX = lasso.getPreviousEndPoint().x;
+        lassoPreviousEndY = lasso.getPreviousEndPoint().y;
+
+        captureFoods(simulation.getFoods());
+        captureFloatingScores(simulation.getFloatingScores());
+    }
+
+    private void captureFoods(FoodView foods) {
+        int n = foods.size();
+        if (n > foodIds.length) growFoods(Math.max(n, foodIds.length * 2));
+        for (int i = 0; i < n; i++) {
+            foodIds[i] = foods.getId(i);
+            foodXs[i] = foods.getX(i);
+            foodYs[i] = foods.getY(i);
+            foodPreviousXs[i] = foods.getPreviousX(i);
+            foodPreviousYs[i] = foods.getPreviousY(i);
+            foodTypeIds[i] = foods.getTypeId(i);
+            foodSpeeds[i] = foods.getSpeed(i);
+            foodValues[i] = foods.getValue(i);
+            foodNames[i] = foods.getName(i);
+            foodTypes[i] = foods.getType(i);
+            foodStates[i] = foods.getState(i);
+        }
+        foodCount = n;
+    }
+
+    private void captureFloatingScores(List<FloatingScore> scores) {
+        int n = scores.size();
+        if (n > scoreXs.length) growScores(Math.max(n, scoreXs.length * 2));
+        for (int i = 0; i < n; i++) {
+            FloatingScore fs = scores.get(i);
+            scoreXs[i] = fs.getPosition().x;
+            scoreYs[i] = fs.getPosition().y;
+            scorePreviousYs[i] = fs.getPreviousY();
+            scoreOpacities[i] = Math.max(0f, (float) fs.getLifespan() / fs.getMaxLifespan());
+            scoreTexts[i] = fs.getText();
+            scoreColors[i] = fs.getColor();
+        }
+        scoreCount = n;
+    }
+
+    private void growFoods(int capacity) {
+        foodIds = Arrays.copyOf(foodIds, capacity);
+        foodXs = Arrays.copyOf(foodXs, capacity);
+        foodYs = Arrays.copyOf(foodYs, capacity);
+        foodPreviousXs = Arrays.copyOf(foodPreviousXs, capacity);
+        foodPreviousYs = Arrays.copyOf(foodPreviousYs, capacity);
+        foodTypeIds = Arrays.copyOf(foodTypeIds, capacity);
+        foodSpeeds = Arrays.copyOf(foodSpeeds, capacity);
+        foodValues = Arrays.copyOf(foodValues, capacity);
+        foodNames = Arrays.copyOf(foodNames, capacity);
+        foodTypes = Arrays.copyOf(foodTypes, capacity);
+        foodStates = Arrays.copyOf(foodStates, capacity);
+    }
+
+    private void growScores(int capacity) {
+        scoreXs = Arrays.copyOf(scoreXs, capacity);
+        scoreYs = Arrays.copyOf(scoreYs, capacity);
+        scorePreviousYs = Arrays.copyOf(scorePreviousYs, capacity);
+        scoreOpacities = Arrays.copyOf(scoreOpacities, capacity);
+        scoreTexts = Arrays.copyOf(scoreTexts, capacity);
+        scoreColors = Arrays.copyOf(scoreColors, capacity);
+    }
+
+    /**
+     * Perkiraan posisi frame di antara langkah sebelumnya (0) dan langkah ini (1),
+     * dari waktu sejak snapshot dipublikasikan. Dipakai saat simulasi berjalan di thread sendiri.
+     */
+    public float getInterpolation(long nowNanos) {
+        float alpha = (float) (nowNanos - publishedNanos) / STEP_NANOS;
+        return Math.max(0f, Math.min(1f, alpha));
+    }
+
+    // =========================================================================
+    // GETTERS
+    // =========================================================================
+
+    public long getSequence() { return sequence; }
+    public GameViewModel.GameState getGameState() { return gameState; }
+    public int getScore() { return score; }
+    public int getCount() { return count; }
+    /** @return Bertambah setiap ada langkah yang menerima input baru; dipakai View untuk mengukur latensi. */
+    public long getInputSequence() { return inputSequence; }
+    /** @return Waktu (nanoTime) input tertua yang diterima pada langkah input terakhir. */
+    public long getInputNanos() { return inputNanos; }
+
+    public boolean hasPlayer() { return hasPlayer; }
+    public int getPlayerX() { return playerX; }
+    public int getPlayerY() { return playerY; }
+    public int getPlayerPreviousX() { return playerPreviousX; }
+    public int getPlayerPreviousY() { return playerPreviousY; }
+    public Player.Direction getFacing() { return facing; }
+    public Player.PlayerState getPlayerState() { return playerState; }
+    public boolean isAlternateFrame() { return alternateFrame; }
+
+    public Lasso.LassoState getLassoState() { return lassoState; }
+    public int getLassoStartX() { return lassoStartX; }
+    public int getLassoStartY() { return lassoStartY; }
+    public int getLassoEndX() { return lassoEndX; }
+    public int getLassoEndY() { return lassoEndY; }
+    public int getLassoPreviousStartX() { return lassoPreviousStartX; }
+    public int getLassoPreviousStartY() { return lassoPreviousStartY; }
+    public int getLassoPreviousEndX() { return lassoPreviousEndX; }
+    public int getLassoPreviousEndY() { return lassoPreviousEndY; }
+
+    public int getFloatingScoreCount() { return scoreCount; }
+    public float getFloatingScoreX(int i) { return scoreXs[i]; }
+    public float getFloatingScoreY(int i) { return scoreYs[i]; }
+    public float getFloatingScorePreviousY(int i) { return scorePreviousYs[i]; }
+    /** @return Sisa hidup skor mengambang, 1 (baru) sampai 0 (hilang). */
+    public float getFloatingScoreOpacity(int i) { return scoreOpacities[i]; }
+    public String getFloatingScoreText(int i) { return scoreTexts[i]; }
+    public Color getFloatingScoreColor(int i) { return scoreColors[i]; }
+
+    // =========================================================================
+    // FoodView
+    // =========================================================================
+
+    @Override public int size() { return foodCount; }
+    @Override public int getId(int slot) { return foodIds[slot]; }
+    @Override public int getX(int slot) { return foodXs[slot]; }
+    @Override public int getY(int slot) { return foodYs[slot]; }
+    @Override public int getPreviousX(int slot) { return foodPreviousXs[slot]; }
+    @Override public int getPreviousY(int slot) { return foodPreviousYs[slot]; }
+    @Override public int getTypeId(int slot) { return foodTypeIds[slot]; }
+    @Override public int getSpeed(int slot) { return foodSpeeds[slot]; }
+    @Override public String getName(int slot) { return foodNames[slot]; }
+    @Override public int getValue(int slot) { return foodValues[slot]; }
+    @Override public Food.FoodType getType(int slot) { return foodTypes[slot]; }
+    @Override public Food.FoodState getState(int slot) { return foodStates[slot]; }
+}
@@ -0,0 +1,431 @@
+package viewmodel;
+
+import audio.SoundSink;
+import model.*;
+
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * GameSimulation adalah inti logika permainan (pemain, laso, makanan, skor)
+ * tanpa ketergantungan ke Swing, perangkat audio, atau jam sistem.
+ *
+ * Semua sumber ketidakpastian disuntikkan lewat constructor: Random untuk spawn,
+ * clock (milidetik) untuk jeda suara langkah dan durasi aksi, dan SoundSink untuk
+ * efek suara. Dengan begitu simulasi bisa dijalankan headless (lihat HeadlessRunner).
+ * Tanpa clock, waktu dihitung dari jumlah langkah, sehingga sesi dengan seed dan
+ * input yang sama selalu berjalan persis sama (lihat InputLog dan ReplayEngine).
+ *
+ * Dalam keadaan stabil update() tidak mengalokasikan objek: makanan disimpan di FoodStore,
+ * skor mengambang diambil dari pool, label skor dan warnanya dibuat sekali per jenis makanan,
+ * dan titik bantu (mulut Jeff, keranjang) dipakai ulang. Cek dengan HeadlessRunner --alloc.
+ */
+public class GameSimulation {
+
+    public static final int STEPS_PER_SECOND = 60;
+
+    // Bit arah gerakan untuk applyMovement
+    public static final int MOVE_UP = 1;
+    public static final int MOVE_DOWN = 2;
+    public static final int MOVE_LEFT = 4;
+    public static final int MOVE_RIGHT = 8;
+
+    private static final long FOOTSTEP_DELAY = 250; // Jeda antar suara langkah (ms)
+    private static final double PLAYER_SPEED = 4;   // piksel per langkah
+    private static final double DIAGONAL_SCALE = 1 / Math.sqrt(2);
+    private static final long EAT_ACTION_DURATION = 500; // Lama pose makan setelah menembak laso (ms)
+    private static final int INITIAL_FOOD_CAPACITY = 15; // FoodStore membesar sendiri di mode stress
+    private static final int GRID_CELL_SIZE = 64;        // sekitar ukuran gambar makanan
+    private static final int GRID_BUCKETS = 256;
+    private static final Color POSITIVE_SCORE_COLOR = new Color(34, 139, 34);
+    private static final Color NEGATIVE_SCORE_COLOR = Color.RED;
+
+    // Dependensi
+    private final Random random;
+    private final LongSupplier clock;
+    private final SoundSink sounds;
+    private volatile FrameProfiler profiler; // null jika overlay performa mati
+    private SpawnBudget spawnBudget = SpawnBudget.NORMAL;
+
+    // State permainan
+    private Player player;
+    private Lasso lasso;
+    private final FoodStore foods; // semua makanan aktif (array primitif + indeks spasial)
+    private final List<FloatingScore> floatingScores = new ArrayList<>();
+    private final List<FloatingScore> floatingScoresView = Collections.unmodifiableList(floatingScores);
+    private final ArrayDeque<FloatingScore> floatingScorePool = new ArrayDeque<>(); // skor mengambang yang sudah mati
+    private int currentScore;
+    private int currentCount;
+    private long tick = 0; // jumlah langkah update sejak start
+    private long lastFootstepTime = 0;
+    // Waktu (clock) saat aksi sesaat pemain berakhir; -1 jika tidak ada aksi
+    private long actionStateUntil = -1;
+
+    // Jenis makanan (indeks = type id), dibaca dari katalog
+    private final FoodCatalog catalog;
+
+    // Statistik spawn per jenis makanan (indeks = type id: positif dulu, lalu negatif)
+    private final int[] spawnedCounts;
+    private final int[] eatenCounts;
+    private final int[] escapedCounts;
+
+    // Label dan warna skor mengambang per jenis makanan, dibuat sekali
+    private final String[] scoreLabels;
+    private final Color[] scoreColors;
+
+    // Posisi mulut pemain (titik awal laso) relatif terhadap posisi pemain
+    private static final int LASSO_FORWARD_OFFSET = 30;
+    private static final int LASSO_VERTICAL_OFFSET = 35;
+
+    // Titik bantu yang dipakai ulang setiap langkah
+    private final Point tongueOrigin = new Point();
+    private final Point basketPosition = new Point();
+
+    /**
+     * Simulasi dengan jam langkah (deterministik).
+     * @param random Sumber angka acak untuk spawn makanan (diseed ulang oleh start dengan seed).
+     * @param sounds Tujuan efek suara.
+     */
+    public GameSimulation(Random random, SoundSink sounds) {
+        this(random, null, sounds);
+    }
+
+    /**
+     * @param random Sumber angka acak untuk spawn makanan.
+     * @param clock Waktu sekarang dalam milidetik, atau null untuk memakai jam langkah simulasi.
+     * @param sounds Tujuan efek suara.
+     */
+    public GameSimulation(Random random, LongSupplier clock, SoundSink sounds) {
+        this(random, clock, sounds, FoodCatalog.getDefault());
+    }
+
+    /**
+     * @param catalog Jenis makanan yang bisa muncul beserta bobotnya.
+     */
+    public GameSimulation(Random random, LongSupplier clock, SoundSink sounds, FoodCatalog catalog) {
+        this.random = random;
+        this.catalog = catalog;
+        this.clock = clock != null ? clock : () -> tick * 1000 / STEPS_PER_SECOND;
+        this.sounds = sounds;
+        this.foods = new FoodStore(catalog.getNames(), catalog.getValues(), catalog.getKinds(),
+                INITIAL_FOOD_CAPACITY, GRID_CELL_SIZE, GRID_BUCKETS);
+        this.spawnedCounts = new int[foods.getTypeCount()];
+        this.eatenCounts = new int[foods.getTypeCount()];
+        this.escapedCounts = new int[foods.getTypeCount()];
+
+        int[] scores = catalog.getValues();
+        this.scoreLabels = new String[scores.length];
+        this.scoreColors = new Color[scores.length];
+        for (int typeId = 0; typeId < scores.length; typeId++) {
+            int value = scores[typeId];
+            scoreLabels[typeId] = ((value > 0 ? "+" : "") + value).intern();
+            scoreColors[typeId] = value > 0 ? POSITIVE_SCORE_COLOR : NEGATIVE_SCORE_COLOR;
+        }
+    }
+
+    /** Memulai sesi baru dengan seed tertentu, agar sesi bisa diputar ulang. */
+    public void start(int panelWidth, int panelHeight, long seed) {
+        random.setSeed(seed);
+        start(panelWidth, panelHeight);
+    }
+
+    /** Memulai sesi baru dengan pemain di tengah layar. */
+    public void start(int panelWidth, int panelHeight) {
+        this.currentScore = 0;
+        this.currentCount = 0;
+        this.tick = 0;
+        this.lastFootstepTime = 0;
+        this.actionStateUntil = -1;
+        this.player = new Player(panelWidth / 2, panelHeight / 2);
+        this.lasso = new Lasso(player.getPosition());
+        foods.clear();
+        floatingScorePool.addAll(floatingScores);
+        floatingScores.clear();
+    }
+
+    /** Menembakkan laso dari posisi pemain. */
+    public void fireLasso(Point target) {
+        if (player == null) return;
+        sounds.playSound("eat_sound");
+
+        int previouslyCaughtSlot = foods.slotOf(lasso.getCaughtFoodId());
+        if (previouslyCaughtSlot >= 0) {
+            foods.setState(previouslyCaughtSlot, Food.FoodState.DEFAULT);
+        }
+
+        lasso.reset();
+        lasso.fire(target);
+        setPlayerActionState(Player.PlayerState.EATING, EAT_ACTION_DURATION);
+    }
+
+    /**
+     * Satu langkah gerak pemain dari gabungan tombol arah (bit MOVE_*), dibaca sekali per langkah.
+     * Arah digabung menjadi satu vektor yang dinormalisasi, jadi gerak diagonal sama cepatnya
+     * dengan gerak lurus; sisa subpiksel disimpan di Player. Batas layar dicek sekali.
+     * Tombol yang berlawanan saling meniadakan; tanpa gerak, pemain berhenti berjalan.
+     */
+    public void applyMovement(int movementMask, int panelWidth, int panelHeight) {
+        if (player == null) return;
+        int dx = ((movementMask & MOVE_RIGHT) != 0 ? 1 : 0) - ((movementMask & MOVE_LEFT) != 0 ? 1 : 0);
+        int dy = ((movementMask & MOVE_DOWN) != 0 ? 1 : 0) - ((movementMask & MOVE_UP) != 0 ? 1 : 0);
+        if (dx == 0 && dy == 0) {
+            stopWalking();
+            return;
+        }
+
+        player.setState(Player.PlayerState.WALKING);
+        if (dx != 0) player.setFacing(dx < 0 ? Player.Direction.LEFT : Player.Direction.RIGHT);
+        double step = dx != 0 && dy != 0 ? PLAYER_SPEED * DIAGONAL_SCALE : PLAYER_SPEED;
+
+        // Logika "clamping" untuk menjaga pemain di dalam layar
+        int halfWidth = Player.WIDTH / 2;
+        int halfHeight = Player.HEIGHT / 2;
+        double newX = Math.max(halfWidth, Math.min(player.getExactX() + dx * step, panelWidth - halfWidth));
+        double newY = Math.max(halfHeight, Math.min(player.getExactY() + dy * step, panelHeight - halfHeight));
+        player.setExactPosition(newX, newY);
+
+        // Memutar suara langkah dengan jeda
+        long currentTime = clock.getAsLong();
+        if (currentTime - lastFootstepTime > FOOTSTEP_DELAY) {
+            sounds.playSound("footstep");
+            lastFootstepTime = currentTime;
+        }
+    }
+
+    /** Menghentikan animasi berjalan dan mengembalikan state pemain ke IDLE. */
+    public void stopWalking() {
+        if (player != null && player.getState() == Player.PlayerState.WALKING) {
+            player.setState(Player.PlayerState.IDLE);
+        }
+    }
+
+    /**
+     * Satu langkah simulasi: skor mengambang, laso, makanan, lalu spawn.
+     */
+    public void update(int panelWidth, int panelHeight) {
+        if (player == null) return;
+
+        // waktu hanya dibaca jika profiler terpasang
+        FrameProfiler profiler = this.profiler;
+        long time = profiler != null ? System.nanoTime() : 0;
+        updatePlayerActionState();
+        updateFloatingScores();
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.FLOATING_SCORES, time);
+        updateLasso(panelWidth, panelHeight);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.LASSO, time);
+        updateFoodItems(panelWidth, panelHeight);
+        if (profiler != null) time = profiler.record(FrameProfiler.Phase.FOOD, time);
+        trySpawningNewFood(panelWidth, panelHeight);
+        if (profiler != null) profiler.record(FrameProfiler.Phase.SPAWN, time);
+        tick++;
+    }
+
+    /** Mengganti aturan spawn makanan, misalnya budget stress; berlaku mulai langkah berikutnya. */
+    public void setSpawnBudget(SpawnBudget spawnBudget) {
+        this.spawnBudget = spawnBudget;
+    }
+
+    public SpawnBudget getSpawnBudget() { return spawnBudget; }
+
+    /** Memasang profiler untuk mengukur setiap fase update, atau null untuk mematikannya. */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Menyimpan posisi semua objek sebelum langkah simulasi berikutnya,
+     * agar View bisa menggambar posisi di antara dua langkah (interpolasi).
+     */
+    public void saveInterpolationState() {
+        if (player == null) return;
+        player.savePreviousPosition();
+        lasso.savePreviousPosition();
+        foods.savePreviousPositions();
+        for (int i = 0; i < floatingScores.size(); i++) {
+            floatingScores.get(i).savePreviousPosition();
+        }
+    }
+
+    // =========================================================================
+    // METODE HELPER UNTUK LOGIKA GAME
+    // =========================================================================
+
+    /** Mengembalikan pemain ke IDLE setelah durasi aksi sesaat habis. */
+    private void updatePlayerActionState() {
+        if (actionStateUntil >= 0 && clock.getAsLong() >= actionStateUntil) {
+            actionStateUntil = -1;
+            player.setState(Player.PlayerState.IDLE);
+        }
+    }
+
+    /** Mengupdate posisi dan sisa hidup dari setiap skor mengambang. */
+    private void updateFloatingScores() {
+        int i = 0;
+        while (i < floatingScores.size()) {
+            FloatingScore fs = floatingScores.get(i);
+            fs.update();
+            if (fs.isAlive()) {
+                i++;
+            } else {
+                // swap-remove: elemen terakhir mengisi tempat yang kosong, tanpa menggeser list
+                int last = floatingScores.size() - 1;
+                floatingScores.set(i, floatingScores.get(last));
+                floatingScores.remove(last);
+                floatingScorePool.push(fs);
+            }
+        }
+    }
+
+    /**
+     * Titik awal laso (mulut pemain) untuk posisi dan arah hadap pemain sekarang;
+     * laso yang ditembak sekarang berangkat dari titik ini.
+     * @param out Diisi dengan titik awal laso.
+     */
+    public void getLassoOrigin(Point out) {
+        Point playerCenter = player.getPosition();
+        if (player.getFacing() == Player.Direction.RIGHT) {
+            out.setLocation(playerCenter.x + LASSO_FORWARD_OFFSET, playerCenter.y + LASSO_VERTICAL_OFFSET);
+        } else {
+            out.setLocation(playerCenter.x - LASSO_FORWARD_OFFSET, playerCenter.y + LASSO_VERTICAL_OFFSET);
+        }
+    }
+
+    /** Mengupdate posisi laso dan menangani logika saat makanan berhasil ditarik. */
+    private void updateLasso(int panelWidth, int panelHeight) {
+        // tongueOrigin dipakai ulang; laso menyimpan referensinya sebagai titik awal
+        getLassoOrigin(tongueOrigin);
+
+        lasso.update(tongueOrigin, foods);
+
+        if (lasso.getState() == Lasso.LassoState.RETRACTING && lasso.getEndPoint().distance(tongueOrigin) < 20) {
+            int caughtSlot = foods.slotOf(lasso.getCaughtFoodId());
+            if (caughtSlot >= 0) {
+                foods.setState(caughtSlot, Food.FoodState.ANIMATING_TO_BASKET);
+            }
+            lasso.reset();
+        }
+    }
+
+    /** Mengupdate posisi makanan, menangani animasi ke keranjang, dan menghapus makanan di luar layar. */
+    private void updateFoodItems(int panelWidth, int panelHeight) {
+        // slot yang dihapus diisi makanan terakhir (swap-remove), jadi slot itu diproses ulang
+        int slot = 0;
+        while (slot < foods.size()) {
+            boolean removed;
+            if (foods.getState(slot) == Food.FoodState.ANIMATING_TO_BASKET) {
+                removed = handleFoodAnimationToBasket(slot, panelWidth, panelHeight);
+            } else {
+                foods.move(slot);
+                removed = foods.getState(slot) == Food.FoodState.DEFAULT
+                        && (foods.getX(slot) > panelWidth + 50 || foods.getX(slot) < -50);
+                if (removed) {
+                    escapedCounts[foods.getTypeId(slot)]++;
+                    foods.remove(foods.getId(slot));
+                }
+            }
+            if (!removed) slot++;
+        }
+    }
+
+    /**
+     * Menangani logika spesifik saat makanan beranimasi menuju keranjang skor.
+     * @return true jika makanan sudah sampai dan dihapus dari store.
+     */
+    private boolean handleFoodAnimationToBasket(int slot, int panelWidth, int panelHeight) {
+        int basketWidth = 260;
+        int basketHeight = 220;
+        int basketX = panelWidth - basketWidth;
+        int basketY = (panelHeight - basketHeight) / 2;
+        basketPosition.setLocation(basketX + basketWidth / 2, basketY + basketHeight / 2);
+
+        double dx = basketPosition.x - foods.getX(slot);
+        double dy = basketPosition.y - foods.getY(slot);
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance < 15) {
+            int typeId = foods.getTypeId(slot);
+            currentScore += foods.getValue(slot);
+            currentCount++;
+            eatenCounts[typeId]++;
+            createFloatingScore(typeId, basketPosition);
+            foods.remove(foods.getId(slot));
+            return true;
+        }
+        double ratio = 15 / distance;
+        foods.setPosition(slot, foods.getX(slot) + (int) (dx * ratio), foods.getY(slot) + (int) (dy * ratio));
+        return false;
+    }
+
+    /** Memunculkan makanan baru sesuai SpawnBudget (mode biasa: peluang acak, maksimal 15). */
+    private void trySpawningNewFood(int panelWidth, int panelHeight) {
+        int spawns = spawnBudget.spawnsFor(tick, foods.size(), random);
+        for (int i = 0; i < spawns; i++) {
+            generateFood(panelWidth, panelHeight);
+        }
+    }
+
+    /** Membuat makanan baru dengan tipe dan posisi acak. */
+    private void generateFood(int panelWidth, int panelHeight) {
+        int typeId = catalog.sample(random);
+
+        int topZoneLimit = panelHeight / 3;
+        int bottomZoneStart = panelHeight * 2 / 3;
+        int foodSize = 64;
+        int yPos = random.nextBoolean()
+                ? random.nextInt(topZoneLimit - foodSize)
+                : bottomZoneStart + random.nextInt(panelHeight - bottomZoneStart - foodSize);
+
+        int xPos = yPos < topZoneLimit ? panelWidth : -30;
+        int speed = yPos < topZoneLimit ? -(random.nextInt(3) + 1) : (random.nextInt(3) + 1);
+
+        spawnedCounts[typeId]++;
+        foods.add(typeId, xPos, yPos, speed);
+    }
+
+    /** Membuat skor mengambang untuk jenis makanan ini, memakai ulang objek dari pool jika ada. */
+    private void createFloatingScore(int typeId, Point position) {
+        FloatingScore fs = floatingScorePool.poll();
+        if (fs == null) {
+            fs = new FloatingScore(scoreLabels[typeId], position, scoreColors[typeId]);
+        } else {
+            fs.reset(scoreLabels[typeId], position, scoreColors[typeId]);
+        }
+        floatingScores.add(fs);
+    }
+
+    /**
+     * Mengatur state pemain untuk aksi sesaat (seperti makan).
+     * Aksi yang sama sebelum durasinya habis memperpanjang durasinya.
+     */
+    private void setPlayerActionState(Player.PlayerState actionState, long durationMs) {
+        player.setState(actionState);
+        actionStateUntil = clock.getAsLong() + durationMs;
+    }
+
+    // =========================================================================
+    // GETTERS
+    // =========================================================================
+
+    public Player getPlayer() { return player; }
+    public Lasso getLasso() { return lasso; }
+    /** @return Tampilan read-only semua makanan aktif. */
+    public FoodView getFoods() { return foods; }
+    /** @return Tampilan read-only skor mengambang (urutannya bisa berubah setiap langkah). */
+    public List<FloatingScore> getFloatingScores() { return floatingScoresView; }
+    public int getCurrentScore() { return currentScore; }
+    public int getCurrentCount() { return currentCount; }
+    /** @return Jumlah langkah update sejak start. */
+    public long getTick() { return tick; }
+
+    /** @return Katalog jenis makanan; type id-nya sama dengan indeks array statistik spawn. */
+    public FoodCatalog getFoodCatalog() { return catalog; }
+
+    // Statistik kumulatif sejak simulasi dibuat (tidak direset oleh start)
+    public int[] getSpawnedCounts() { return spawnedCounts.clone(); }
+    public int[] getEatenCounts() { return eatenCounts.clone(); }
+    public int[] getEscapedCounts() { return escapedCounts.clone(); }
+}
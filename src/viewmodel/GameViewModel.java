@@ -2,55 +2,114 @@ package viewmodel;
 
 import audio.AudioManager;
 import model.*;
-import javax.swing.Timer;
 import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
  * GameViewModel adalah "otak" dari permainan.
  * Kelas ini memegang semua state (kondisi) permainan, mengelola logika utama game loop,
  * dan menyediakan antarmuka (API) untuk View (GamePanel) agar bisa menampilkan data
  * dan mengirimkan input dari pengguna.
+ *
+ * View tidak membaca objek simulasi secara langsung: setiap langkah simulasi
+ * mempublikasikan FrameSnapshot lewat SnapshotExchange, dan View menggambar dari
+ * snapshot terbaru. Dengan -Djeff.sim.thread=true simulasi berjalan di thread sendiri
+ * (SimulationThread); input dari EDT lalu dikirim sebagai perintah yang dijalankan
+ * di awal langkah berikutnya.
  */
 
 public class GameViewModel {
 
     // Dependensi & State Utama
-    private final ResultDAO resultDAO;
-    private GameState gameState;
-    private Player player;
-    private Lasso lasso;
-    private final List<Food> foodItems;
-    private final List<FloatingScore> floatingScores;
+    private final ScoreRepository scoreRepository;
+    private final ScoreWriteBehind scoreWriter;
+    private final LeaderboardCache leaderboardCache;
+    private final ExecutorService persistenceExecutor;
+    private volatile GameState gameState; // ditulis thread simulasi, dibaca EDT untuk input
+    private final GameSimulation simulation;
+
+    // Penghubung simulasi dan View
+    private final SnapshotExchange snapshots = new SnapshotExchange();
+    private final SimulationThread simulationThread; // null: langkah simulasi dijalankan GamePanel di EDT
+    private final ConcurrentLinkedQueue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private volatile int movementMask;                // bit GameSimulation.MOVE_* yang sedang ditekan
+    // Waktu (nanoTime) input tertua yang belum diproses langkah simulasi, 0 jika tidak ada
+    private final AtomicLong pendingInputNanos = new AtomicLong();
+    private long lastInputNanos;  // input tertua yang diproses langkah terakhir yang menerima input
+    private long inputSteps;      // jumlah langkah yang menerima input (hanya thread simulasi)
+    private volatile int viewportWidth, viewportHeight;
+    private final FrameProfiler profiler = new FrameProfiler();
+    private volatile boolean profiling = false; // overlay performa (F3)
+
+    // Variabel untuk State Animasi pemain (dimajukan per langkah simulasi)
+    private int idleAnimCounter = 0;
+    private boolean isIdleJumpFrame = false;
+    private int walkAnimCounter = 0;
+    private boolean isWalkFrame = false;
 
     // State Sesi Permainan
-    private int currentScore;
-    private int currentCount;
     private String username;
 
-    // Konfigurasi Gameplay
-    private final Random random = new Random();
-    private Timer playerActionTimer;
-    private long lastFootstepTime = 0;
-    private static final long FOOTSTEP_DELAY = 250; // Jeda antar suara langkah (ms)
-
-    // Data Makanan
-    private final String[] positiveFoodNames = {"steak", "hotdog", "hamburger", "cheesecake", "chocolate", "pudding", "sushi"};
-    private final int[] positiveFoodScores = {20, 20, 20, 10, 10, 10, 10};
-    private final String[] negativeFoodNames = {"carrot", "green", "corn", "eggplant", "cucumber"};
-    private final int[] negativeFoodScores = {-10, -10, -10, -10, -10};
+    // Rekaman input sesi (lihat InputLog dan ReplayEngine)
+    private final Random seedSource = new Random();
+    private InputLog inputLog;      // sesi yang sedang berjalan, null di luar sesi
+    private InputLog lastInputLog;  // sesi terakhir yang sudah selesai
+    private int recordedMovementMask;
+    private int recordedWidth, recordedHeight;
+    private long pauseStartedAt;
+
+    // Konfigurasi
+    private static final long SCORE_FLUSH_LINGER_MS = 200; // Jeda penggabungan batch simpan skor (ms)
+    private static final long SHUTDOWN_FLUSH_TIMEOUT_MS = 5_000;
+    private static final long LEADERBOARD_TTL_MS = 60_000; // Papan peringkat dibaca ulang dari DB setiap 1 menit
+    private static final int LEADERBOARD_WINDOW = 500;     // Baris teratas yang di-cache; halaman lebih dalam dari DB
+    private static final int PERSISTENCE_THREADS = 2;
+    private static final int PERSISTENCE_QUEUE_CAPACITY = 256;
+    private static final String DB_METRICS_PROPERTY = "jeff.db.metrics";
+    static final String SEED_PROPERTY = "jeff.seed";             // paksa seed sesi tertentu
+    private static final String REPLAY_DIR_PROPERTY = "jeff.replay.dir"; // simpan rekaman input setiap sesi ke folder ini
+    private static final String SIMULATION_THREAD_PROPERTY = "jeff.sim.thread";
+    private static final int IDLE_FRAME_DURATION = 40;
+    private static final int WALK_FRAME_DURATION = 15;
 
     /**
      * Constructor untuk GameViewModel.
-     * Menginisialisasi semua state awal dan data access object.
+     * Menginisialisasi semua state awal dan memilih penyimpanan skor (MySQL atau file lokal).
+     * Bisa menunggu koneksi MySQL, jadi buat sebelum masuk EDT (lihat MainWindow.main).
      */
     public GameViewModel() {
-        this.resultDAO = new ResultDAO();
-        this.foodItems = new CopyOnWriteArrayList<>();
-        this.floatingScores = new CopyOnWriteArrayList<>();
+        this(ScoreRepository.createDefault());
+    }
+
+    /**
+     * @param scoreRepository Penyimpanan skor yang dipakai, misalnya FileScoreRepository untuk pengujian.
+     */
+    public GameViewModel(ScoreRepository scoreRepository) {
+        this.scoreRepository = scoreRepository;
+        this.scoreWriter = new ScoreWriteBehind(scoreRepository, SCORE_FLUSH_LINGER_MS);
+        this.persistenceExecutor = createPersistenceExecutor();
+        this.leaderboardCache = new LeaderboardCache(scoreRepository, LEADERBOARD_WINDOW,
+                LEADERBOARD_TTL_MS, persistenceExecutor);
+        this.simulation = new GameSimulation(new Random(), AudioManager.getInstance());
+        this.simulation.setSpawnBudget(SpawnBudget.fromSystemProperties()); // mode stress (jeff.stress.*)
         this.gameState = GameState.START_SCREEN;
+        this.simulationThread = Boolean.getBoolean(SIMULATION_THREAD_PROPERTY)
+                ? new SimulationThread(this::simulationStep) : null;
     }
 
     // =========================================================================
@@ -59,95 +118,272 @@ public class GameViewModel {
 
     public enum GameState { START_SCREEN, PLAYING, PAUSED }
 
-    /** Memulai sesi permainan baru. */
+    /**
+     * Memulai sesi permainan baru. Pendaftaran pengguna ke database berjalan di latar belakang.
+     * Setiap sesi punya seed sendiri dan inputnya direkam, agar sesi bisa diputar ulang.
+     */
     public void startGame(String username, int panelWidth, int panelHeight) {
-        this.username = username;
-        resultDAO.createUserIfNotExist(this.username);
-        this.currentScore = 0;
-        this.currentCount = 0;
-        this.player = new Player(panelWidth / 2, panelHeight / 2);
-        this.lasso = new Lasso(player.getPosition());
-        this.gameState = GameState.PLAYING;
-        foodItems.clear();
-        floatingScores.clear();
-    }
-
-    /** Menghentikan permainan dan menyimpan skor ke database. */
+        createUserIfNotExistAsync(username);
+        setViewportSize(panelWidth, panelHeight);
+        movementMask = 0; // tombol yang masih tercatat dari sesi sebelumnya tidak ikut ke sesi baru
+        execute(() -> {
+            this.username = username;
+            long seed = Long.getLong(SEED_PROPERTY, seedSource.nextLong());
+            simulation.start(panelWidth, panelHeight, seed);
+            this.inputLog = new InputLog(seed, panelWidth, panelHeight, simulation.getSpawnBudget());
+            this.recordedMovementMask = 0;
+            this.recordedWidth = panelWidth;
+            this.recordedHeight = panelHeight;
+            this.gameState = GameState.PLAYING;
+            publishSnapshot();
+        });
+    }
+
+    /** Menghentikan permainan dan mengantrekan skor untuk disimpan ke database di latar belakang. */
     public void stopGameAndSave() {
+        execute(this::stopAndSave);
+    }
+
+    private void stopAndSave() {
+        finishInputLog();
         if (this.username != null && !this.username.trim().isEmpty()) {
+            int currentScore = simulation.getCurrentScore();
+            int currentCount = simulation.getCurrentCount();
+            // setiap sesi masuk riwayat, termasuk yang skornya 0
+            scoreWriter.submitSession(new SessionRecord(username, currentScore, currentCount, System.currentTimeMillis()));
             if (currentScore > 0 || currentCount > 0) {
                 Result sessionResult = new Result(username, currentScore, currentCount);
-                resultDAO.saveOrUpdate(sessionResult);
+                scoreWriter.submit(sessionResult);
+                // langsung, sebelum papan peringkat di layar awal meminta datanya lagi;
+                // recordResult hanya mengubah memori dan tidak menunggu reload dari DB
+                leaderboardCache.recordResult(sessionResult);
             }
         }
         this.gameState = GameState.START_SCREEN;
+        publishSnapshot();
+    }
+
+    /** Menutup rekaman input sesi dan, jika diminta lewat -Djeff.replay.dir, menyimpannya ke file. */
+    private void finishInputLog() {
+        if (inputLog == null) return;
+        inputLog.finish(simulation.getTick(), simulation.getCurrentScore(), simulation.getCurrentCount());
+        lastInputLog = inputLog;
+        inputLog = null;
+
+        String replayDir = System.getProperty(REPLAY_DIR_PROPERTY);
+        if (replayDir == null) return;
+        InputLog finished = lastInputLog;
+        String safeName = (username == null ? "anon" : username).replaceAll("[^A-Za-z0-9_-]", "_");
+        Path file = Paths.get(replayDir, safeName + "-" + System.currentTimeMillis() + ".jrl");
+        runAsync(() -> {
+            try {
+                Files.createDirectories(file.getParent());
+                finished.write(file);
+            } catch (IOException e) {
+                System.err.println("Gagal menyimpan rekaman input: " + e.getMessage());
+            }
+        });
+    }
+
+    /** Menyimpan sisa antrean skor lalu menutup penyimpanan saat aplikasi ditutup. */
+    public void shutdown() {
+        stopSimulationThread();
+        persistenceExecutor.shutdown();
+        try {
+            persistenceExecutor.awaitTermination(SHUTDOWN_FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scoreWriter.shutdown(SHUTDOWN_FLUSH_TIMEOUT_MS);
+        scoreRepository.close();
+        // -Djeff.db.metrics=true: cetak ringkasan latensi JDBC saat aplikasi ditutup
+        if (Boolean.getBoolean(DB_METRICS_PROPERTY)) {
+            QueryMetrics.getInstance().dumpSummary(System.out);
+        }
+    }
+
+    // =========================================================================
+    // PERSISTENSI ASINKRON
+    // Semua metode di bawah berjalan di executor latar belakang; View harus
+    // memperbarui komponen Swing lewat SwingUtilities.invokeLater saat future selesai.
+    // =========================================================================
+
+    public CompletableFuture<Void> createUserIfNotExistAsync(String username) {
+        return runAsync(() -> {
+            scoreRepository.createUserIfNotExist(username);
+            leaderboardCache.recordNewUser(username);
+        });
+    }
+
+    public CompletableFuture<List<Result>> getTopScoresAsync(int limit) {
+        return supplyAsync(() -> getTopScores(limit));
+    }
+
+    public CompletableFuture<List<Result>> getScoresAfterAsync(Result last, int limit) {
+        return supplyAsync(() -> getScoresAfter(last, limit));
+    }
+
+    public CompletableFuture<List<Result>> getScoresPageAsync(int offset, int limit) {
+        return supplyAsync(() -> getScoresPage(offset, limit));
+    }
+
+    public CompletableFuture<Integer> getScoreCountAsync() {
+        return supplyAsync(this::getScoreCount);
+    }
+
+    /** Peringkat pemain saat ini (1 = teratas), -1 jika belum ada di papan peringkat. */
+    public CompletableFuture<Integer> getPlayerRankAsync(String username) {
+        return supplyAsync(() -> leaderboardCache.rankOf(username));
+    }
+
+    /** Peringkat yang akan didapat skor sesi ini, untuk layar akhir permainan. */
+    public CompletableFuture<Integer> getRankForScoreAsync(int skor) {
+        return supplyAsync(() -> leaderboardCache.rankForScore(skor));
+    }
+
+    /** Pemain di sekitar peringkat tertentu (radius baris ke atas dan ke bawah). */
+    public CompletableFuture<List<Result>> getPlayersAroundRankAsync(int rank, int radius) {
+        return supplyAsync(() -> leaderboardCache.getAroundRank(rank, radius));
+    }
+
+    /** Persentase pemain lain yang skornya di bawah pemain ini. */
+    public CompletableFuture<Double> getPercentileAsync(String username) {
+        return supplyAsync(() -> leaderboardCache.percentileOf(username));
+    }
+
+    /** Statistik kumulatif pemain (jumlah sesi, total, rata-rata, skor terbaik). */
+    public CompletableFuture<PlayerStats> getPlayerStatsAsync(String username) {
+        return supplyAsync(() -> scoreRepository.getPlayerStats(username));
+    }
+
+    private CompletableFuture<Void> runAsync(Runnable task) {
+        return supplyAsync(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // Antrean executor dibatasi; jika penuh, future langsung gagal alih-alih memblokir EDT
+    private <T> CompletableFuture<T> supplyAsync(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, persistenceExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static ExecutorService createPersistenceExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                PERSISTENCE_THREADS, PERSISTENCE_THREADS, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(PERSISTENCE_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "persistence-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /** Menjeda permainan. */
     public void pauseGame() {
-        if (this.gameState == GameState.PLAYING) {
-            this.gameState = GameState.PAUSED;
-        }
+        execute(() -> {
+            if (this.gameState == GameState.PLAYING) {
+                this.gameState = GameState.PAUSED;
+                if (inputLog != null) {
+                    inputLog.recordPause(simulation.getTick());
+                    pauseStartedAt = System.currentTimeMillis();
+                }
+            }
+        });
     }
 
     /** Melanjutkan permainan dari jeda. */
     public void resumeGame() {
-        if (this.gameState == GameState.PAUSED) {
-            this.gameState = GameState.PLAYING;
-        }
+        execute(() -> {
+            if (this.gameState == GameState.PAUSED) {
+                this.gameState = GameState.PLAYING;
+                if (inputLog != null) {
+                    long pausedMillis = System.currentTimeMillis() - pauseStartedAt;
+                    inputLog.recordResume(simulation.getTick(), (int) Math.min(Integer.MAX_VALUE, pausedMillis));
+                }
+            }
+        });
     }
 
     /** Menembakkan laso dari posisi pemain. */
     public void fireLasso(Point target) {
-        if (player == null) return;
-        AudioManager.getInstance().playSound("eat_sound");
+        fireLasso(target, System.nanoTime());
+    }
 
-        Food previouslyCaughtFood = lasso.getCaughtFood();
-        if (previouslyCaughtFood != null) {
-            previouslyCaughtFood.setState(Food.FoodState.DEFAULT);
-        }
+    /**
+     * @param inputNanos Waktu input terjadi (System.nanoTime()), untuk mengukur latensi input ke frame.
+     */
+    public void fireLasso(Point target, long inputNanos) {
+        execute(() -> {
+            if (inputLog != null) {
+                inputLog.recordFire(simulation.getTick(), target.x, target.y);
+            }
+            simulation.fireLasso(target);
+        });
+        noteInput(inputNanos);
+    }
 
-        lasso.reset();
-        lasso.fire(target);
-        setPlayerActionState(Player.PlayerState.EATING, 500);
+    /** Mencatat tombol arah yang sedang ditekan (bit GameSimulation.MOVE_*); dibaca sekali per langkah. */
+    public void setMovementMask(int movementMask) {
+        setMovementMask(movementMask, System.nanoTime());
     }
 
-    /** Menggerakkan pemain dan menangani batasan layar. */
-    public void movePlayer(String direction, int panelWidth, int panelHeight) {
-        if (player == null) return;
-        player.setState(Player.PlayerState.WALKING);
-        int speed = 4;
-
-        switch (direction) {
-            case "UP": player.move(0, -speed); break;
-            case "DOWN": player.move(0, speed); break;
-            case "LEFT": player.move(-speed, 0); player.setFacing(Player.Direction.LEFT); break;
-            case "RIGHT": player.move(speed, 0); player.setFacing(Player.Direction.RIGHT); break;
-        }
+    /**
+     * @param inputNanos Waktu tombol ditekan/dilepas (System.nanoTime()), untuk mengukur latensi input ke frame.
+     */
+    public void setMovementMask(int movementMask, long inputNanos) {
+        this.movementMask = movementMask;
+        noteInput(inputNanos);
+    }
 
-        // Logika "clamping" untuk menjaga pemain di dalam layar
-        Point currentPos = player.getPosition();
-        int newX = currentPos.x;
-        int newY = currentPos.y;
-        int halfWidth = Player.WIDTH / 2;
-        int halfHeight = Player.HEIGHT / 2;
-        newX = Math.max(halfWidth, Math.min(newX, panelWidth - halfWidth));
-        newY = Math.max(halfHeight, Math.min(newY, panelHeight - halfHeight));
-        player.setPosition(newX, newY);
-
-        // Memutar suara langkah dengan jeda
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastFootstepTime > FOOTSTEP_DELAY) {
-            AudioManager.getInstance().playSound("footstep");
-            lastFootstepTime = currentTime;
-        }
+    // Dicatat SETELAH input terlihat oleh langkah simulasi (mask ditulis / perintah masuk antrean),
+    // dan langkah mengambilnya SEBELUM membaca input, jadi langkah yang mengambil waktu ini pasti
+    // juga memproses inputnya. Jika beberapa input datang di antara dua langkah, yang tertua disimpan.
+    private void noteInput(long inputNanos) {
+        pendingInputNanos.compareAndSet(0, inputNanos == 0 ? 1 : inputNanos);
+    }
+
+    /** @return Katalog jenis makanan (tidak berubah selama game berjalan). */
+    public FoodCatalog getFoodCatalog() {
+        return simulation.getFoodCatalog();
+    }
+
+    /** Mengganti aturan spawn makanan, misalnya budget stress (lihat StressRunner); ikut direkam. */
+    public void setSpawnBudget(SpawnBudget spawnBudget) {
+        execute(() -> {
+            simulation.setSpawnBudget(spawnBudget);
+            if (inputLog != null) inputLog.recordSpawnBudget(simulation.getTick(), spawnBudget);
+        });
+    }
+
+    /** Mencatat ukuran panel permainan; dipakai langkah simulasi berikutnya. */
+    public void setViewportSize(int width, int height) {
+        this.viewportWidth = width;
+        this.viewportHeight = height;
     }
 
     /** Menghentikan animasi berjalan dan mengembalikan state pemain ke IDLE. */
     public void stopWalking() {
-        if (player != null && player.getState() == Player.PlayerState.WALKING) {
-            player.setState(Player.PlayerState.IDLE);
+        execute(simulation::stopWalking);
+    }
+
+    // Menggerakkan pemain sesuai mask tombol arah; hanya perubahan yang direkam
+    private void applyMovement(int movementMask, int panelWidth, int panelHeight) {
+        recordPanelSize(panelWidth, panelHeight);
+        if (inputLog != null && movementMask != recordedMovementMask) {
+            inputLog.recordMove(simulation.getTick(), movementMask);
+            recordedMovementMask = movementMask;
         }
+        simulation.applyMovement(movementMask, panelWidth, panelHeight);
     }
 
     // =========================================================================
@@ -155,160 +391,153 @@ public class GameViewModel {
     // =========================================================================
 
     /**
-     * Metode utama yang dipanggil di setiap frame oleh GamePanel.
-     * Metode ini berfungsi sebagai "sutradara" yang mendelegasikan tugas-tugas update.
+     * Satu langkah simulasi dengan durasi tetap (lihat FixedStepLoop): menjalankan perintah
+     * input yang tertunda, memajukan simulasi dan animasi, lalu mempublikasikan snapshot.
+     * Dipanggil oleh GamePanel di EDT, atau oleh SimulationThread jika aktif.
      */
-    public void updateGame(int panelWidth, int panelHeight) {
-        if (gameState != GameState.PLAYING) return;
-
-        updateFloatingScores();
-        updateLasso(panelWidth, panelHeight);
-        updateFoodItems(panelWidth, panelHeight);
-        trySpawningNewFood(panelWidth, panelHeight);
-    }
-
-    // =========================================================================
-    // METODE HELPER UNTUK LOGIKA GAME
-    // =========================================================================
-
-    /** Mengupdate posisi dan sisa hidup dari setiap skor mengambang. */
-    private void updateFloatingScores() {
-        for (FloatingScore fs : floatingScores) {
-            fs.update();
+    public void simulationStep() {
+        long inputNanos = pendingInputNanos.getAndSet(0);
+        if (inputNanos != 0) {
+            lastInputNanos = inputNanos;
+            inputSteps++;
         }
-        floatingScores.removeIf(fs -> !fs.isAlive());
-    }
-
-    /** Mengupdate posisi laso dan menangani logika saat makanan berhasil ditarik. */
-    private void updateLasso(int panelWidth, int panelHeight) {
-        Point playerCenter = player.getPosition();
-        Player.Direction facing = player.getFacing();
-        int forwardOffset = 30;
-        int verticalOffset = 35;
-        Point tongueOrigin;
-
-        if (facing == Player.Direction.RIGHT) {
-            tongueOrigin = new Point(playerCenter.x + forwardOffset, playerCenter.y + verticalOffset);
+        runPendingCommands();
+        simulation.saveInterpolationState();
+        if (gameState == GameState.PLAYING) {
+            int width = viewportWidth;
+            int height = viewportHeight;
+            applyMovement(movementMask, width, height);
+            updateGame(width, height);
+        }
+        updatePlayerAnimation();
+        if (profiling) {
+            long time = System.nanoTime();
+            publishSnapshot();
+            profiler.record(FrameProfiler.Phase.SNAPSHOT, time);
         } else {
-            tongueOrigin = new Point(playerCenter.x - forwardOffset, playerCenter.y + verticalOffset);
+            publishSnapshot();
         }
+    }
 
-        lasso.update(tongueOrigin, foodItems);
+    // Logikanya ada di GameSimulation, sehingga bisa juga dijalankan tanpa Swing
+    private void updateGame(int panelWidth, int panelHeight) {
+        if (gameState != GameState.PLAYING) return;
+        recordPanelSize(panelWidth, panelHeight);
+        simulation.update(panelWidth, panelHeight);
+    }
 
-        if (lasso.getState() == Lasso.LassoState.RETRACTING && lasso.getEndPoint().distance(tongueOrigin) < 20) {
-            Food caughtFood = lasso.getCaughtFood();
-            if (caughtFood != null) {
-                caughtFood.setState(Food.FoodState.ANIMATING_TO_BASKET);
-            }
-            lasso.reset();
+    // ukuran panel ikut menentukan spawn dan batas gerak, jadi perubahannya direkam
+    private void recordPanelSize(int panelWidth, int panelHeight) {
+        if (inputLog != null && (panelWidth != recordedWidth || panelHeight != recordedHeight)) {
+            inputLog.recordResize(simulation.getTick(), panelWidth, panelHeight);
+            recordedWidth = panelWidth;
+            recordedHeight = panelHeight;
         }
     }
 
-    /** Mengupdate posisi makanan, menangani animasi ke keranjang, dan menghapus makanan di luar layar. */
-    private void updateFoodItems(int panelWidth, int panelHeight) {
-        for (Food food : foodItems) {
-            if (food.getState() == Food.FoodState.ANIMATING_TO_BASKET) {
-                handleFoodAnimationToBasket(food, panelWidth, panelHeight);
-            } else {
-                food.move();
-            }
-        }
-        foodItems.removeIf(food -> food.getState() == Food.FoodState.DEFAULT && (food.getPosition().x > panelWidth + 50 || food.getPosition().x < -50));
-    }
-
-    /** Menangani logika spesifik saat makanan beranimasi menuju keranjang skor. */
-    private void handleFoodAnimationToBasket(Food food, int panelWidth, int panelHeight) {
-        int basketWidth = 260;
-        int basketHeight = 220;
-        int basketX = panelWidth - basketWidth;
-        int basketY = (panelHeight - basketHeight) / 2;
-        Point basketPosition = new Point(basketX + basketWidth / 2, basketY + basketHeight / 2);
-
-        if (food.getPosition().distance(basketPosition) < 15) {
-            currentScore += food.getValue();
-            currentCount++;
-            createFloatingScore(food, basketPosition);
-            foodItems.remove(food);
-        } else {
-            double dx = basketPosition.x - food.getPosition().x;
-            double dy = basketPosition.y - food.getPosition().y;
-            double ratio = 15 / (food.getPosition().distance(basketPosition));
-            food.getPosition().x += (int) (dx * ratio);
-            food.getPosition().y += (int) (dy * ratio);
+    // memajukan counter animasi pemain, sekali per langkah simulasi (bukan per paint)
+    private void updatePlayerAnimation() {
+        Player player = simulation.getPlayer();
+        if (player == null) return;
+        switch (player.getState()) {
+            case WALKING:
+                walkAnimCounter++;
+                if (walkAnimCounter > WALK_FRAME_DURATION) {
+                    isWalkFrame = !isWalkFrame;
+                    walkAnimCounter = 0;
+                }
+                break;
+            case EATING:
+                break;
+            case IDLE:
+            default:
+                idleAnimCounter++;
+                if (idleAnimCounter > IDLE_FRAME_DURATION) {
+                    isIdleJumpFrame = !isIdleJumpFrame;
+                    idleAnimCounter = 0;
+                }
+                break;
         }
     }
 
-    /** Mencoba memunculkan makanan baru secara acak. */
-    private void trySpawningNewFood(int panelWidth, int panelHeight) {
-        if (random.nextInt(100) > 95 && foodItems.size() < 15) {
-            generateFood(panelWidth, panelHeight);
-        }
+    private void publishSnapshot() {
+        Player player = simulation.getPlayer();
+        boolean alternateFrame = player != null && player.getState() == Player.PlayerState.WALKING
+                ? isWalkFrame : isIdleJumpFrame;
+        snapshots.beginWrite().capture(simulation, gameState, alternateFrame, inputSteps, lastInputNanos, System.nanoTime());
+        snapshots.publish();
     }
 
-    /** Membuat objek makanan baru dengan tipe dan posisi acak. */
-    private void generateFood(int panelWidth, int panelHeight) {
-        String name;
-        int value;
-        Food.FoodType type;
+    /** Menyalakan atau mematikan pengukuran fase untuk overlay performa. */
+    public void setProfiling(boolean enabled) {
+        if (enabled == profiling) return;
+        if (enabled) profiler.reset();
+        profiling = enabled;
+        simulation.setProfiler(enabled ? profiler : null);
+    }
 
-        if (random.nextInt(10) < 7) {
-            type = Food.FoodType.POSITIVE;
-            int index = random.nextInt(positiveFoodNames.length);
-            name = positiveFoodNames[index];
-            value = positiveFoodScores[index];
-        } else {
-            type = Food.FoodType.NEGATIVE;
-            int index = random.nextInt(negativeFoodNames.length);
-            name = negativeFoodNames[index];
-            value = negativeFoodScores[index];
-        }
+    public boolean isProfiling() { return profiling; }
+    public FrameProfiler getProfiler() { return profiler; }
 
-        int topZoneLimit = panelHeight / 3;
-        int bottomZoneStart = panelHeight * 2 / 3;
-        int foodSize = 64;
-        int yPos = random.nextBoolean()
-                ? random.nextInt(topZoneLimit - foodSize)
-                : bottomZoneStart + random.nextInt(panelHeight - bottomZoneStart - foodSize);
+    // =========================================================================
+    // THREAD SIMULASI
+    // Semua metode di bawah dipanggil dari EDT.
+    // =========================================================================
 
-        int xPos = yPos < topZoneLimit ? panelWidth : -30;
-        int speed = yPos < topZoneLimit ? -(random.nextInt(3) + 1) : (random.nextInt(3) + 1);
+    /** @return true jika simulasi dijalankan SimulationThread, bukan oleh GamePanel. */
+    public boolean isSimulationThreaded() {
+        return simulationThread != null;
+    }
 
-        foodItems.add(new Food(name, value, type, xPos, yPos, speed));
+    public void startSimulationThread() {
+        if (simulationThread != null) simulationThread.start();
     }
 
-    /** Membuat objek skor mengambang. */
-    private void createFloatingScore(Food food, Point position) {
-        int value = food.getValue();
-        String text = (value > 0 ? "+" : "") + value;
-        Color color = (value > 0 ? new Color(34, 139, 34) : Color.RED);
-        floatingScores.add(new FloatingScore(text, position, color));
+    /** Menghentikan thread simulasi lalu menjalankan sisa perintah yang belum sempat diproses. */
+    public void stopSimulationThread() {
+        if (simulationThread == null) return;
+        simulationThread.stop();
+        runPendingCommands();
     }
 
-    /** Mengatur state pemain untuk aksi sesaat (seperti makan). */
-    private void setPlayerActionState(Player.PlayerState actionState, int durationMs) {
-        if (player.getState() == actionState && playerActionTimer != null && playerActionTimer.isRunning()) {
-            playerActionTimer.restart();
-            return;
+    // Input yang mengubah simulasi dijalankan di thread simulasi jika thread itu aktif
+    private void execute(Runnable command) {
+        if (simulationThread != null && simulationThread.isRunning()) {
+            commands.offer(command);
+        } else {
+            command.run();
         }
-        if (playerActionTimer != null) {
-            playerActionTimer.stop();
+    }
+
+    private void runPendingCommands() {
+        Runnable command;
+        while ((command = commands.poll()) != null) {
+            command.run();
         }
-        player.setState(actionState);
-        playerActionTimer = new Timer(durationMs, e -> player.setState(Player.PlayerState.IDLE));
-        playerActionTimer.setRepeats(false);
-        playerActionTimer.start();
     }
 
     // =========================================================================
     // GETTERS (Untuk dibaca oleh View)
     // =========================================================================
 
-    public Player getPlayer() { return player; }
-    public Lasso getLasso() { return lasso; }
-    public List<Food> getFoodItems() { return foodItems; }
-    public int getCurrentScore() { return currentScore; }
-    public int getCurrentCount() { return currentCount; }
+    /**
+     * @return Frame terbaru untuk digambar. Hanya dipanggil dari satu thread render (EDT);
+     *         isinya tidak berubah sampai pemanggilan berikutnya.
+     */
+    public FrameSnapshot acquireFrame() { return snapshots.acquire(); }
+    public int getCurrentScore() { return simulation.getCurrentScore(); }
+    public int getCurrentCount() { return simulation.getCurrentCount(); }
     public GameState getGameState() { return gameState; }
-    public List<Result> getAllScores() { return resultDAO.getAllResult(); }
-    public List<FloatingScore> getFloatingScores() { return floatingScores; }
+    public List<Result> getTopScores(int limit) { return leaderboardCache.getTop(limit); }
+    public List<Result> getScoresAfter(Result last, int limit) {
+        return leaderboardCache.getAfter(last.getSkor(), last.getUsername(), limit);
+    }
+    public List<Result> getScoresPage(int offset, int limit) { return leaderboardCache.getPage(offset, limit); }
+    public int getScoreCount() { return leaderboardCache.count(); }
+    public LeaderboardCache getLeaderboardCache() { return leaderboardCache; }
+    public GameSimulation getSimulation() { return simulation; }
+    // rekaman sesi yang sedang berjalan (null di luar sesi), untuk HeadlessRunner --alloc
+    InputLog getInputLog() { return inputLog; }
+    /** @return Rekaman input sesi terakhir yang sudah selesai, atau null. */
+    public InputLog getLastInputLog() { return lastInputLog; }
 }
\ No newline at end of file
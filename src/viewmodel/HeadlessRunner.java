@@ -0,0 +1,263 @@
+package viewmodel;
+
+import audio.SoundSink;
+import model.FileScoreRepository;
+import model.FoodCatalog;
+import model.Lasso;
+
+import java.awt.Point;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * HeadlessRunner menjalankan banyak sesi GameSimulation tanpa layar dan tanpa audio,
+ * dimainkan oleh bot (BotPolicy, default NearestFoodBot), lalu mencetak statistik skor,
+ * count, dan spawn makanan.
+ * Dipakai untuk menyetel tabel makanan tanpa harus membuka game.
+ *
+ * Pemakaian:
+ *   java -cp bin viewmodel.HeadlessRunner [sesi] [detik per sesi] [seed] [lebar] [tinggi]
+ *   java -cp bin viewmodel.HeadlessRunner --alloc [sesi] [detik per sesi] [seed]
+ *
+ * Mode --alloc memeriksa bahwa GameViewModel.simulationStep (jalur per frame game) tidak
+ * mengalokasikan objek sama sekali (memakai penghitung byte teralokasi per thread dari JVM);
+ * exit code 1 jika ada alokasi.
+ */
+public class HeadlessRunner {
+
+    private static final int STEPS_PER_SECOND = GameSimulation.STEPS_PER_SECOND;
+
+    private final int width;
+    private final int height;
+    private final GameSimulation simulation;
+    private final BotPolicy policy;
+    private final Point fireTarget = new Point(); // dipakai ulang; laso hanya membacanya selama EXTENDING
+
+    public HeadlessRunner(long seed, int width, int height) {
+        this(seed, width, height, new NearestFoodBot());
+    }
+
+    /** @param policy Bot yang memainkan sesi; instance ini hanya boleh dipakai oleh runner ini. */
+    public HeadlessRunner(long seed, int width, int height, BotPolicy policy) {
+        this.width = width;
+        this.height = height;
+        this.simulation = new GameSimulation(new Random(seed), SoundSink.SILENT);
+        this.policy = policy;
+    }
+
+    /**
+     * Memainkan satu sesi penuh dengan bot.
+     * @return {skor, count} di akhir sesi.
+     */
+    public int[] playSession(int steps) {
+        simulation.start(width, height);
+        runSteps(steps);
+        return new int[]{simulation.getCurrentScore(), simulation.getCurrentCount()};
+    }
+
+    /**
+     * Memainkan satu sesi penuh dengan seed sendiri, jadi hasilnya tidak bergantung pada
+     * sesi lain yang dimainkan runner ini sebelumnya. Skor dan count dibaca dari getSimulation().
+     */
+    public void playSession(int steps, long seed) {
+        simulation.start(width, height, seed);
+        runSteps(steps);
+    }
+
+    private void runSteps(int steps) {
+        for (int i = 0; i < steps; i++) {
+            botStep();
+            simulation.update(width, height);
+        }
+    }
+
+    // satu langkah bot: gerak dulu, lalu laso jika sedang menganggur
+    private void botStep() {
+        simulation.applyMovement(policy.chooseMovement(simulation, width, height), width, height);
+        if (simulation.getLasso().getState() == Lasso.LassoState.IDLE
+                && policy.aimLasso(simulation, width, height, fireTarget)) {
+            simulation.fireLasso(fireTarget);
+        }
+    }
+
+    public GameSimulation getSimulation() { return simulation; }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--alloc")) {
+            System.exit(checkAllocation(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int secondsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        int width = args.length > 3 ? Integer.parseInt(args[3]) : 900;
+        int height = args.length > 4 ? Integer.parseInt(args[4]) : 700;
+        int steps = secondsPerSession * STEPS_PER_SECOND;
+
+        HeadlessRunner runner = new HeadlessRunner(seed, width, height);
+        int[] scores = new int[sessions];
+        int[] counts = new int[sessions];
+        long start = System.nanoTime();
+        for (int i = 0; i < sessions; i++) {
+            int[] result = runner.playSession(steps);
+            scores[i] = result[0];
+            counts[i] = result[1];
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d sesi x %d detik (%d langkah), seed %d, layar %dx%d%n",
+                sessions, secondsPerSession, steps, seed, width, height);
+        System.out.printf("waktu: %.2f s (%.0f sesi/s, %.0f langkah/s)%n",
+                elapsedSeconds, sessions / elapsedSeconds, (double) sessions * steps / elapsedSeconds);
+        printDistribution("skor ", scores);
+        printDistribution("count", counts);
+        printSpawnStats(runner.getSimulation(), sessions);
+    }
+
+    /**
+     * Memanaskan JIT dan pool dengan beberapa sesi, lalu mengukur alokasi per langkah di jalur
+     * frame yang sebenarnya: GameViewModel.simulationStep (perintah tertunda, applyMovement dan
+     * rekaman input, update, snapshot). Bot memberi input lewat API ViewModel seperti GamePanel;
+     * input itu sendiri (seperti event AWT) tidak ikut dihitung.
+     * @return 0 jika tidak ada alokasi sama sekali, 1 jika ada, 2 jika JVM tidak mendukung.
+     */
+    private static int checkAllocation(String[] args) throws IOException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int secondsPerSession = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        int steps = secondsPerSession * STEPS_PER_SECOND;
+
+        com.sun.management.ThreadMXBean counters = allocationCounters();
+        if (counters == null) {
+            System.out.println("JVM ini tidak mendukung penghitung alokasi per thread");
+            return 2;
+        }
+        System.setProperty(GameViewModel.SEED_PROPERTY, Long.toString(seed));
+        File repositoryDirectory = Files.createTempDirectory("jeff-alloc").toFile();
+        GameViewModel viewModel = new GameViewModel(new FileScoreRepository(repositoryDirectory));
+        if (viewModel.isSimulationThreaded()) {
+            System.out.println("Matikan jeff.sim.thread: langkah harus dijalankan di thread ini");
+            return 2;
+        }
+        AllocationProbe probe = new AllocationProbe(viewModel, counters, new NearestFoodBot(), 900, 700);
+        for (int i = 0; i < 200; i++) {
+            probe.playSession(steps);
+        }
+        probe.reset();
+        for (int i = 0; i < sessions; i++) {
+            probe.playSession(steps);
+        }
+        viewModel.shutdown();
+
+        long totalSteps = (long) sessions * steps;
+        System.out.printf("alokasi: %d byte dalam %d langkah simulationStep (%.3f byte/langkah)%n",
+                probe.bytes, totalSteps, (double) probe.bytes / totalSteps);
+        System.out.printf("rekaman input tumbuh di %d langkah (%d byte, sebanding jumlah event, tidak dihitung)%n",
+                probe.growthSteps, probe.growthBytes);
+        return probe.bytes == 0 ? 0 : 1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounters() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+        com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+        if (!counters.isThreadAllocatedMemorySupported()) return null;
+        counters.setThreadAllocatedMemoryEnabled(true);
+        return counters;
+    }
+
+    /**
+     * Memainkan sesi lewat GameViewModel dan menjumlahkan byte yang dialokasikan thread ini
+     * di dalam setiap simulationStep. Langkah yang memperbesar array InputLog dicatat terpisah:
+     * rekaman memang bertambah sebanding jumlah event input, bukan jumlah frame.
+     */
+    private static final class AllocationProbe {
+        private final GameViewModel viewModel;
+        private final GameSimulation simulation;
+        private final com.sun.management.ThreadMXBean counters;
+        private final long threadId = Thread.currentThread().getId();
+        private final long overhead; // biaya membaca penghitung itu sendiri (di beberapa JVM membuat array kecil)
+        private final BotPolicy policy;
+        private final int width;
+        private final int height;
+        private final Point fireTarget = new Point();
+        long bytes;
+        long growthBytes;
+        int growthSteps;
+
+        AllocationProbe(GameViewModel viewModel, com.sun.management.ThreadMXBean counters, BotPolicy policy,
+                        int width, int height) {
+            this.viewModel = viewModel;
+            this.simulation = viewModel.getSimulation();
+            this.counters = counters;
+            this.overhead = -counters.getThreadAllocatedBytes(threadId) + counters.getThreadAllocatedBytes(threadId);
+            this.policy = policy;
+            this.width = width;
+            this.height = height;
+        }
+
+        void reset() {
+            bytes = 0;
+            growthBytes = 0;
+            growthSteps = 0;
+        }
+
+        void playSession(int steps) {
+            viewModel.startGame("bot", width, height);
+            viewModel.setViewportSize(width, height);
+            InputLog log = viewModel.getInputLog();
+            for (int i = 0; i < steps; i++) {
+                // input seperti dari GamePanel, di luar pengukuran
+                viewModel.setMovementMask(policy.chooseMovement(simulation, width, height));
+                if (simulation.getLasso().getState() == Lasso.LassoState.IDLE
+                        && policy.aimLasso(simulation, width, height, fireTarget)) {
+                    viewModel.fireLasso(fireTarget);
+                }
+
+                int capacity = log.capacity();
+                long before = counters.getThreadAllocatedBytes(threadId);
+                viewModel.simulationStep();
+                long allocated = Math.max(0, counters.getThreadAllocatedBytes(threadId) - before - overhead);
+                if (log.capacity() != capacity) {
+                    growthBytes += allocated;
+                    growthSteps++;
+                } else {
+                    bytes += allocated;
+                }
+            }
+            viewModel.stopGameAndSave();
+        }
+    }
+
+    private static void printDistribution(String label, int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (int value : sorted) total += value;
+        System.out.printf("%s: mean %.1f, min %d, p50 %d, p90 %d, max %d%n", label,
+                (double) total / sorted.length, sorted[0], sorted[sorted.length / 2],
+                sorted[(int) (sorted.length * 0.9)], sorted[sorted.length - 1]);
+    }
+
+    private static void printSpawnStats(GameSimulation simulation, int sessions) {
+        FoodCatalog catalog = simulation.getFoodCatalog();
+        int[] spawned = simulation.getSpawnedCounts();
+        int[] eaten = simulation.getEatenCounts();
+        int[] escaped = simulation.getEscapedCounts();
+        long totalSpawned = 0;
+        for (int count : spawned) totalSpawned += count;
+
+        System.out.printf("%-11s %6s %9s %8s %9s %9s %8s%n",
+                "makanan", "nilai", "spawn", "spawn %", "dimakan", "lolos", "makan %");
+        for (int i = 0; i < catalog.size(); i++) {
+            System.out.printf("%-11s %6d %9d %7.1f%% %9d %9d %7.1f%%%n", catalog.getName(i), catalog.getValue(i), spawned[i],
+                    100.0 * spawned[i] / Math.max(1, totalSpawned), eaten[i], escaped[i],
+                    100.0 * eaten[i] / Math.max(1, spawned[i]));
+        }
+        System.out.printf("rata-rata spawn per sesi: %.1f%n", (double) totalSpawned / sessions);
+    }
+}
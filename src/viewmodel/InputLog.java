@@ -0,0 +1,253 @@
+package viewmodel;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * InputLog adalah rekaman input satu sesi: seed, ukuran layar, budget spawn, dan semua
+ * input pemain per langkah simulasi. Bersama GameSimulation yang deterministik, rekaman ini cukup
+ * untuk memutar ulang sesi persis sama (lihat ReplayEngine).
+ *
+ * Event dicatat pada tick = jumlah langkah update yang sudah berjalan, dan diterapkan
+ * sebelum langkah berikutnya. Gerakan hanya dicatat saat gabungan tombol arah berubah.
+ *
+ * Format biner (big-endian):
+ *   header: int MAGIC, byte VERSION, long seed, int lebar, int tinggi, budget
+ *   budget: int maksMakanan, long langkahNaik, byte kurva, int maksPerLangkah, byte peluangPersen
+ *   event : byte jenis, varint selisih tick dari event sebelumnya, lalu isi:
+ *           MOVE   byte mask (bit GameSimulation.MOVE_*)
+ *           FIRE   zigzag varint x, y
+ *           PAUSE  -
+ *           RESUME varint lama jeda (ms)
+ *           RESIZE varint lebar, tinggi
+ *           BUDGET budget (budget spawn diganti di tengah sesi)
+ *           END    zigzag varint skor, varint count (event terakhir)
+ */
+public class InputLog {
+
+    public static final int MAGIC = 0x4A454646; // "JEFF"
+    // naikkan setiap kali simulasi berubah sehingga rekaman lama tidak lagi bisa diputar ulang persis
+    // 2: jenis makanan dipilih dengan alias method dari FoodCatalog
+    // 3: gerak pemain digabung per langkah dan dinormalisasi (diagonal tidak lagi lebih cepat)
+    // 4: budget spawn ikut direkam (header dan event BUDGET)
+    public static final byte VERSION = 4;
+
+    public static final byte MOVE = 1;
+    public static final byte FIRE = 2;
+    public static final byte PAUSE = 3;
+    public static final byte RESUME = 4;
+    public static final byte RESIZE = 5;
+    public static final byte END = 6;
+    public static final byte BUDGET = 7;
+
+    private final long seed;
+    private final int width;
+    private final int height;
+    private final SpawnBudget spawnBudget;
+    private final List<SpawnBudget> budgetChanges = new ArrayList<>(); // argumen event BUDGET
+
+    // Event sebagai array paralel: jenis, tick, dan dua argumen
+    private int size = 0;
+    private byte[] types = new byte[64];
+    private long[] ticks = new long[64];
+    private int[] firstArgs = new int[64];
+    private int[] secondArgs = new int[64];
+    private boolean finished = false;
+
+    /** @param spawnBudget Budget spawn saat sesi dimulai. */
+    public InputLog(long seed, int width, int height, SpawnBudget spawnBudget) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.spawnBudget = spawnBudget;
+    }
+
+    // =========================================================================
+    // MEREKAM
+    // =========================================================================
+
+    public void recordMove(long tick, int movementMask) { add(MOVE, tick, movementMask, 0); }
+    public void recordFire(long tick, int x, int y) { add(FIRE, tick, x, y); }
+    public void recordPause(long tick) { add(PAUSE, tick, 0, 0); }
+    public void recordResume(long tick, int pausedMillis) { add(RESUME, tick, pausedMillis, 0); }
+    public void recordResize(long tick, int newWidth, int newHeight) { add(RESIZE, tick, newWidth, newHeight); }
+
+    public void recordSpawnBudget(long tick, SpawnBudget budget) {
+        add(BUDGET, tick, budgetChanges.size(), 0);
+        budgetChanges.add(budget);
+    }
+
+    /** Menutup rekaman dengan hasil akhir sesi, untuk dicocokkan saat diputar ulang. */
+    public void finish(long tick, int score, int count) {
+        add(END, tick, score, count);
+        finished = true;
+    }
+
+    private void add(byte type, long tick, int firstArg, int secondArg) {
+        if (finished) throw new IllegalStateException("Rekaman sudah ditutup");
+        if (size > 0 && tick < ticks[size - 1]) {
+            throw new IllegalArgumentException("Tick mundur: " + tick + " < " + ticks[size - 1]);
+        }
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+            firstArgs = Arrays.copyOf(firstArgs, capacity);
+            secondArgs = Arrays.copyOf(secondArgs, capacity);
+        }
+        types[size] = type;
+        ticks[size] = tick;
+        firstArgs[size] = firstArg;
+        secondArgs[size] = secondArg;
+        size++;
+    }
+
+    // =========================================================================
+    // MEMBACA
+    // =========================================================================
+
+    public long getSeed() { return seed; }
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    /** @return Budget spawn saat sesi dimulai. */
+    public SpawnBudget getSpawnBudget() { return spawnBudget; }
+    public boolean isFinished() { return finished; }
+    public int size() { return size; }
+    public byte getType(int index) { return types[index]; }
+    public long getTick(int index) { return ticks[index]; }
+    /** @return Mask (MOVE), x (FIRE), lama jeda (RESUME), lebar (RESIZE), atau skor (END). */
+    public int getFirstArg(int index) { return firstArgs[index]; }
+    /** @return y (FIRE), tinggi (RESIZE), atau count (END). */
+    public int getSecondArg(int index) { return secondArgs[index]; }
+    /** @return Budget spawn baru dari event BUDGET. */
+    public SpawnBudget getBudgetArg(int index) { return budgetChanges.get(firstArgs[index]); }
+
+    // ukuran array event saat ini; dipakai HeadlessRunner --alloc untuk mengenali langkah yang menumbuhkannya
+    int capacity() { return types.length; }
+
+    /** @return Tick terakhir yang tercatat (tick END untuk rekaman yang sudah ditutup). */
+    public long getEndTick() { return size > 0 ? ticks[size - 1] : 0; }
+
+    // =========================================================================
+    // SERIALISASI
+    // =========================================================================
+
+    public void write(Path file) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(out);
+        }
+    }
+
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeInt(width);
+        out.writeInt(height);
+        spawnBudget.write(out);
+        long previousTick = 0;
+        for (int i = 0; i < size; i++) {
+            out.writeByte(types[i]);
+            writeVarLong(out, ticks[i] - previousTick);
+            previousTick = ticks[i];
+            switch (types[i]) {
+                case MOVE:
+                    out.writeByte(firstArgs[i]);
+                    break;
+                case FIRE:
+                    writeVarLong(out, zigzag(firstArgs[i]));
+                    writeVarLong(out, zigzag(secondArgs[i]));
+                    break;
+                case RESUME:
+                    writeVarLong(out, firstArgs[i]);
+                    break;
+                case RESIZE:
+                    writeVarLong(out, firstArgs[i]);
+                    writeVarLong(out, secondArgs[i]);
+                    break;
+                case END:
+                    writeVarLong(out, zigzag(firstArgs[i]));
+                    writeVarLong(out, secondArgs[i]);
+                    break;
+                case BUDGET:
+                    getBudgetArg(i).write(out);
+                    break;
+                default:
+                    break;
+            }
+        }
+        out.flush();
+    }
+
+    public static InputLog read(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Membaca rekaman. Rekaman tanpa event END (misalnya aplikasi tertutup paksa)
+     * tetap bisa dibaca; isFinished() bernilai false.
+     */
+    public static InputLog read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) throw new IOException("Bukan file rekaman input");
+        byte version = in.readByte();
+        if (version != VERSION) throw new IOException("Versi rekaman tidak didukung: " + version);
+        InputLog log = new InputLog(in.readLong(), in.readInt(), in.readInt(), SpawnBudget.read(in));
+
+        long tick = 0;
+        while (!log.finished) {
+            int type = in.read();
+            if (type < 0) break;
+            tick += readVarLong(in);
+            switch (type) {
+                case MOVE: log.recordMove(tick, in.readUnsignedByte()); break;
+                case FIRE: log.recordFire(tick, unzigzag(readVarLong(in)), unzigzag(readVarLong(in))); break;
+                case PAUSE: log.recordPause(tick); break;
+                case RESUME: log.recordResume(tick, (int) readVarLong(in)); break;
+                case RESIZE: log.recordResize(tick, (int) readVarLong(in), (int) readVarLong(in)); break;
+                case BUDGET: log.recordSpawnBudget(tick, SpawnBudget.read(in)); break;
+                case END: log.finish(tick, unzigzag(readVarLong(in)), (int) readVarLong(in)); break;
+                default: throw new IOException("Jenis event tidak dikenal: " + type);
+            }
+        }
+        return log;
+    }
+
+    // varint: 7 bit per byte, bit tertinggi menandakan masih ada byte berikutnya
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("Rekaman terpotong");
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Varint terlalu panjang");
+    }
+
+    // zigzag: bilangan negatif kecil tetap jadi varint pendek
+    private static long zigzag(int value) { return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL; }
+    private static int unzigzag(long value) { return (int) (value >>> 1) ^ -(int) (value & 1); }
+}
@@ -0,0 +1,38 @@
+package viewmodel;
+
+import model.FoodView;
+
+import java.awt.Point;
+
+/**
+ * Bot yang memilih makanan seperti NearestFoodBot, tetapi membidik ke depan: laso diarahkan
+ * ke posisi makanan saat ujung laso diperkirakan sampai, dari kecepatan horizontal makanan.
+ */
+public class LeadingAimBot extends NearestFoodBot {
+
+    private static final double LASSO_SPEED = 20; // piksel per langkah, sama dengan Lasso
+    private static final int ITERATIONS = 3;      // perkiraan waktu tempuh diperbaiki beberapa kali
+
+    private final Point origin = new Point(); // dipakai ulang setiap bidikan
+
+    @Override
+    public boolean aimLasso(GameSimulation simulation, int width, int height, Point target) {
+        if (!super.aimLasso(simulation, width, height, target)) return false;
+        FoodView foods = simulation.getFoods();
+        // waktu tempuh diukur dari mulut pemain, tempat laso berangkat, bukan dari tengah pemain
+        simulation.getLassoOrigin(origin);
+        int speed = foods.getSpeed(targetSlot);
+        double x = target.x;
+        for (int i = 0; i < ITERATIONS; i++) {
+            double steps = Math.hypot(x - origin.x, target.y - origin.y) / LASSO_SPEED;
+            x = target.x + speed * steps;
+        }
+        // makanan yang akan keluar layar sebelum terkejar tidak ditembak
+        if (x < 0 || x > width) return false;
+        target.x = (int) Math.round(x);
+        return true;
+    }
+
+    @Override
+    public String getName() { return "lead"; }
+}
@@ -0,0 +1,52 @@
+package viewmodel;
+
+import model.Food;
+import model.FoodView;
+
+import java.awt.Point;
+
+/**
+ * Bot dasar: berjalan mendekati makanan positif terdekat secara horizontal,
+ * lalu menembakkan laso tepat ke posisinya sekarang jika makanan dalam jangkauan.
+ */
+public class NearestFoodBot implements BotPolicy {
+
+    private static final int LASSO_RANGE = 450; // hanya menembak makanan dalam jarak ini
+    private static final int WALK_TOLERANCE = 40;
+
+    // target yang dipilih di chooseMovement, dipakai aimLasso pada langkah yang sama
+    protected int targetSlot = -1;
+    protected double targetDistance;
+
+    @Override
+    public int chooseMovement(GameSimulation simulation, int width, int height) {
+        Point playerPos = simulation.getPlayer().getPosition();
+        FoodView foods = simulation.getFoods();
+        targetSlot = -1;
+        targetDistance = Double.MAX_VALUE;
+        for (int i = 0; i < foods.size(); i++) {
+            if (foods.getState(i) != Food.FoodState.DEFAULT || foods.getType(i) != Food.FoodType.POSITIVE) continue;
+            double distance = playerPos.distance(foods.getX(i), foods.getY(i));
+            if (distance < targetDistance) {
+                targetDistance = distance;
+                targetSlot = i;
+            }
+        }
+
+        if (targetSlot < 0) return 0;
+        int dx = foods.getX(targetSlot) - playerPos.x;
+        if (Math.abs(dx) <= WALK_TOLERANCE) return 0;
+        return dx > 0 ? GameSimulation.MOVE_RIGHT : GameSimulation.MOVE_LEFT;
+    }
+
+    @Override
+    public boolean aimLasso(GameSimulation simulation, int width, int height, Point target) {
+        if (targetSlot < 0 || targetDistance >= LASSO_RANGE) return false;
+        FoodView foods = simulation.getFoods();
+        target.setLocation(foods.getX(targetSlot), foods.getY(targetSlot));
+        return true;
+    }
+
+    @Override
+    public String getName() { return "nearest"; }
+}
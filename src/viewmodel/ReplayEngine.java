@@ -0,0 +1,169 @@
+package viewmodel;
+
+import audio.SoundSink;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ReplayEngine memutar ulang sesi dari InputLog di atas GameSimulation baru.
+ * Karena simulasi deterministik (seed + jam langkah), hasil akhirnya harus sama
+ * persis dengan sesi aslinya; matchesRecordedResult() memeriksanya.
+ *
+ * Dua mode: runToEnd() menyimulasikan ulang secepat mungkin (headless),
+ * runRealTime() berjalan 60 langkah per detik termasuk jeda aslinya.
+ *
+ * Pemakaian:
+ *   java -cp bin viewmodel.ReplayEngine file.jrl [--realtime]
+ */
+public class ReplayEngine {
+
+    private static final long STEP_NANOS = 1_000_000_000L / GameSimulation.STEPS_PER_SECOND;
+
+    private final InputLog log;
+    private final GameSimulation simulation;
+    private int nextEvent;
+    private int movementMask;
+    private int width;
+    private int height;
+    private long pausedNanos; // jeda yang ditemui sejak langkah terakhir (untuk mode real time)
+
+    public ReplayEngine(InputLog log, SoundSink sounds) {
+        this.log = log;
+        this.simulation = new GameSimulation(new Random(), sounds);
+        restart();
+    }
+
+    /** Mengulang pemutaran dari awal sesi. */
+    public void restart() {
+        nextEvent = 0;
+        movementMask = 0;
+        width = log.getWidth();
+        height = log.getHeight();
+        pausedNanos = 0;
+        // budget dari rekaman, bukan dari properti jeff.stress.* saat diputar ulang
+        simulation.setSpawnBudget(log.getSpawnBudget());
+        simulation.start(width, height, log.getSeed());
+    }
+
+    /**
+     * Menerapkan input untuk tick berikutnya lalu menjalankan satu langkah simulasi.
+     * @return false jika rekaman sudah habis (tidak ada langkah yang dijalankan).
+     */
+    public boolean step() {
+        long tick = simulation.getTick();
+        if (tick >= log.getEndTick()) return false;
+        applyEvents(tick);
+        simulation.applyMovement(movementMask, width, height);
+        simulation.update(width, height);
+        return true;
+    }
+
+    /** Menyimulasikan ulang sampai akhir rekaman secepat mungkin. */
+    public void runToEnd() {
+        while (step()) {
+            // semua pekerjaan ada di step()
+        }
+        applyEvents(simulation.getTick());
+    }
+
+    /**
+     * Memutar ulang dengan kecepatan aslinya (60 langkah per detik), termasuk lama jeda.
+     * @param afterStep Dipanggil setelah setiap langkah, misalnya untuk menggambar atau mencetak progres.
+     */
+    public void runRealTime(Runnable afterStep) {
+        long deadline = System.nanoTime();
+        while (true) {
+            pausedNanos = 0;
+            if (!step()) break;
+            afterStep.run();
+            deadline += STEP_NANOS + pausedNanos;
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+        applyEvents(simulation.getTick());
+    }
+
+    private void applyEvents(long tick) {
+        while (nextEvent < log.size() && log.getTick(nextEvent) <= tick) {
+            int i = nextEvent++;
+            switch (log.getType(i)) {
+                case InputLog.MOVE:
+                    movementMask = log.getFirstArg(i);
+                    break;
+                case InputLog.FIRE:
+                    simulation.fireLasso(new Point(log.getFirstArg(i), log.getSecondArg(i)));
+                    break;
+                case InputLog.RESUME:
+                    pausedNanos += log.getFirstArg(i) * 1_000_000L;
+                    break;
+                case InputLog.RESIZE:
+                    width = log.getFirstArg(i);
+                    height = log.getSecondArg(i);
+                    break;
+                case InputLog.BUDGET:
+                    simulation.setSpawnBudget(log.getBudgetArg(i));
+                    break;
+                default:
+                    // PAUSE dan END tidak mengubah simulasi
+                    break;
+            }
+        }
+    }
+
+    /** @return true jika rekaman punya hasil akhir dan hasil pemutaran ulang sama persis. */
+    public boolean matchesRecordedResult() {
+        if (!log.isFinished()) return false;
+        int end = log.size() - 1;
+        return simulation.getTick() == log.getEndTick()
+                && simulation.getCurrentScore() == log.getFirstArg(end)
+                && simulation.getCurrentCount() == log.getSecondArg(end);
+    }
+
+    public GameSimulation getSimulation() { return simulation; }
+    public InputLog getLog() { return log; }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Pemakaian: ReplayEngine file.jrl [--realtime]");
+            System.exit(2);
+        }
+        InputLog log = InputLog.read(Paths.get(args[0]));
+        boolean realTime = args.length > 1 && args[1].equals("--realtime");
+        ReplayEngine replay = new ReplayEngine(log, SoundSink.SILENT);
+        GameSimulation simulation = replay.getSimulation();
+
+        System.out.printf("seed %d, layar %dx%d, %d langkah, %d event, spawn %s%n",
+                log.getSeed(), log.getWidth(), log.getHeight(), log.getEndTick(), log.size(), log.getSpawnBudget());
+        long start = System.nanoTime();
+        if (realTime) {
+            replay.runRealTime(() -> {
+                if (simulation.getTick() % GameSimulation.STEPS_PER_SECOND == 0) {
+                    System.out.printf("detik %d: skor %d, count %d%n", simulation.getTick() / GameSimulation.STEPS_PER_SECOND,
+                            simulation.getCurrentScore(), simulation.getCurrentCount());
+                }
+            });
+        } else {
+            replay.runToEnd();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("selesai dalam %.3f s (%.0f langkah/s)%n", elapsedSeconds, simulation.getTick() / elapsedSeconds);
+
+        if (!log.isFinished()) {
+            System.out.printf("rekaman tidak lengkap; hasil pemutaran: skor %d, count %d%n",
+                    simulation.getCurrentScore(), simulation.getCurrentCount());
+            return;
+        }
+        int end = log.size() - 1;
+        System.out.printf("tercatat: skor %d, count %d | diputar ulang: skor %d, count %d -> %s%n",
+                log.getFirstArg(end), log.getSecondArg(end),
+                simulation.getCurrentScore(), simulation.getCurrentCount(),
+                replay.matchesRecordedResult() ? "COCOK" : "BEDA");
+        if (!replay.matchesRecordedResult()) System.exit(1);
+    }
+}
@@ -0,0 +1,71 @@
+package viewmodel;
+
+/**
+ * ScoreHistogram menghitung berapa kali setiap nilai bulat (skor atau count) muncul.
+ * Rentangnya membesar sendiri, termasuk ke nilai negatif. Karena setiap nilai disimpan
+ * persis, histogram dari banyak thread bisa digabung (merge) dan persentilnya sama persis
+ * dengan jika semua sesi dimainkan di satu thread.
+ *
+ * Kelas ini tidak thread-safe; setiap thread mengisi histogramnya sendiri lalu digabung.
+ */
+public class ScoreHistogram {
+
+    private long[] counts = new long[64];
+    private int offset;  // nilai pada indeks i adalah offset + i
+    private long total = 0;
+    private long sum = 0;
+    private int min = Integer.MAX_VALUE;
+    private int max = Integer.MIN_VALUE;
+
+    public void add(int value) {
+        add(value, 1);
+    }
+
+    private void add(int value, long times) {
+        if (total == 0) offset = value - counts.length / 2;
+        ensureRange(value);
+        counts[value - offset] += times;
+        total += times;
+        sum += value * times;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Menambahkan semua nilai dari histogram lain ke histogram ini. */
+    public void merge(ScoreHistogram other) {
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) add(other.offset + i, other.counts[i]);
+        }
+    }
+
+    private void ensureRange(int value) {
+        int index = value - offset;
+        if (index >= 0 && index < counts.length) return;
+        int low = Math.min(offset, value);
+        int high = Math.max(offset + counts.length - 1, value);
+        int length = Math.max(counts.length * 2, high - low + 1);
+        long[] grown = new long[length];
+        // sisakan ruang di kedua sisi agar pertumbuhan berikutnya jarang terjadi
+        int newOffset = value < offset ? high - length + 1 : low;
+        System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+        counts = grown;
+        offset = newOffset;
+    }
+
+    /** @return Nilai terkecil v sehingga paling sedikit fraksi percentile dari semua nilai <= v. */
+    public int getPercentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.min(total - 1, (long) (total * percentile));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) return offset + i;
+        }
+        return max;
+    }
+
+    public long getTotal() { return total; }
+    public double getMean() { return total == 0 ? 0 : (double) sum / total; }
+    public int getMin() { return total == 0 ? 0 : min; }
+    public int getMax() { return total == 0 ? 0 : max; }
+}
@@ -0,0 +1,61 @@
+package viewmodel;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationThread menjalankan langkah simulasi dengan FixedStepLoop di thread sendiri,
+ * terlepas dari EDT. Hasil setiap langkah sampai ke View hanya lewat SnapshotExchange,
+ * dan input dari EDT dikirim sebagai perintah (lihat GameViewModel).
+ */
+public class SimulationThread {
+
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private static final long MAX_FRAME_MS = 250;
+
+    private final Runnable step;
+    private final FixedStepLoop loop =
+            new FixedStepLoop(GameSimulation.STEPS_PER_SECOND, MAX_STEPS_PER_FRAME, MAX_FRAME_MS);
+    private volatile boolean running = false;
+    private Thread thread;
+
+    /** @param step Satu langkah simulasi; selalu dipanggil dari thread ini. */
+    public SimulationThread(Runnable step) {
+        this.step = step;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        loop.reset();
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Menghentikan thread dan menunggu langkah yang sedang berjalan selesai. */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long stepNanos = loop.getStepNanos();
+        while (running) {
+            loop.advance(System.nanoTime(), step);
+            // tidur sampai langkah berikutnya jatuh tempo
+            long remaining = (long) ((1f - loop.getAlpha()) * stepNanos);
+            LockSupport.parkNanos(Math.max(remaining, 100_000L));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package viewmodel;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * SnapshotExchange menyerahkan FrameSnapshot dari thread simulasi ke thread render
+ * tanpa lock (triple buffering untuk satu penulis dan satu pembaca).
+ *
+ * Ada tiga snapshot: satu milik penulis (back), satu milik pembaca (front), dan satu
+ * di tengah (latest) yang hanya dipindahtangankan lewat getAndSet. Karena setiap
+ * pertukaran menukar kepemilikan, tidak ada snapshot yang dipegang dua thread sekaligus:
+ * penulis tidak pernah menimpa frame yang sedang digambar, dan pembaca tidak pernah
+ * melihat frame setengah jadi. Penulis tidak pernah menunggu pembaca (frame lama dibuang).
+ */
+public class SnapshotExchange {
+
+    private final AtomicReference<FrameSnapshot> latest = new AtomicReference<>(new FrameSnapshot());
+    private FrameSnapshot back = new FrameSnapshot();  // hanya disentuh penulis
+    private FrameSnapshot front = new FrameSnapshot(); // hanya disentuh pembaca
+    private long nextSequence = 1;                     // hanya disentuh penulis
+
+    /** @return Snapshot yang boleh diisi penulis sampai publish() dipanggil. */
+    public FrameSnapshot beginWrite() {
+        return back;
+    }
+
+    /** Menjadikan snapshot hasil beginWrite() sebagai frame terbaru. */
+    public void publish() {
+        back.sequence = nextSequence++;
+        back = latest.getAndSet(back);
+    }
+
+    /**
+     * @return Frame terbaru yang sudah dipublikasikan. Tetap valid (tidak diubah) sampai
+     *         acquire() berikutnya dari thread yang sama.
+     */
+    public FrameSnapshot acquire() {
+        // Jika latest sedang dipegang penulis saat dibaca, berarti sudah ada frame yang lebih baru
+        // di latest, jadi keputusan menukar tetap aman; frame yang didapat tidak pernah lebih lama.
+        if (latest.get().sequence > front.sequence) {
+            front = latest.getAndSet(front);
+        }
+        return front;
+    }
+}
@@ -0,0 +1,136 @@
+package viewmodel;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * SpawnBudget menentukan berapa makanan yang dimunculkan GameSimulation setiap langkah.
+ *
+ * NORMAL adalah aturan permainan biasa: peluang 4% per langkah dengan batas 15 makanan.
+ * Mode stress menaikkan target jumlah makanan hidup dari 0 sampai maxFood selama
+ * rampSeconds mengikuti kurva, lalu bertahan di maxFood. Setiap langkah, kekurangan dari
+ * target diisi paling banyak maxSpawnsPerStep makanan, jadi makanan yang lolos dari layar
+ * langsung diganti dan jumlahnya mengikuti kurva.
+ *
+ * Mode stress bisa dinyalakan lewat properti sistem (lihat fromSystemProperties), misalnya
+ * -Djeff.stress.maxFood=20000 -Djeff.stress.rampSeconds=60 -Djeff.stress.curve=exponential.
+ */
+public class SpawnBudget {
+
+    public enum Curve {
+        LINEAR,      // target naik rata
+        QUADRATIC,   // lambat di awal, cepat di akhir
+        EXPONENTIAL  // naik dengan rasio tetap (1, 10, 100, ...), resolusi sama untuk setiap orde
+    }
+
+    public static final SpawnBudget NORMAL = new SpawnBudget(15, 0, Curve.LINEAR, 1, 4);
+
+    private static final String PROPERTY_PREFIX = "jeff.stress.";
+
+    private final int maxFood;
+    private final long rampSteps;
+    private final Curve curve;
+    private final int maxSpawnsPerStep;
+    private final int chancePercent; // > 0: aturan peluang per langkah (mode biasa), 0: ikuti kurva
+
+    private SpawnBudget(int maxFood, long rampSteps, Curve curve, int maxSpawnsPerStep, int chancePercent) {
+        this.maxFood = maxFood;
+        this.rampSteps = rampSteps;
+        this.curve = curve;
+        this.maxSpawnsPerStep = maxSpawnsPerStep;
+        this.chancePercent = chancePercent;
+    }
+
+    /**
+     * Budget mode stress.
+     * @param maxFood Jumlah makanan hidup di akhir kurva.
+     * @param rampSeconds Lama kurva naik (detik permainan); 0 berarti langsung maxFood.
+     * @param curve Bentuk kurva.
+     * @param maxSpawnsPerStep Batas makanan baru per langkah.
+     */
+    public static SpawnBudget stress(int maxFood, double rampSeconds, Curve curve, int maxSpawnsPerStep) {
+        if (maxFood < 1 || rampSeconds < 0 || maxSpawnsPerStep < 1) {
+            throw new IllegalArgumentException("Budget stress tidak valid: maxFood=" + maxFood
+                    + ", rampSeconds=" + rampSeconds + ", maxSpawnsPerStep=" + maxSpawnsPerStep);
+        }
+        long rampSteps = Math.round(rampSeconds * GameSimulation.STEPS_PER_SECOND);
+        return new SpawnBudget(maxFood, rampSteps, curve, maxSpawnsPerStep, 0);
+    }
+
+    /**
+     * Membaca budget stress dari properti sistem jeff.stress.maxFood, jeff.stress.rampSeconds
+     * (default 60), jeff.stress.curve (default linear), dan jeff.stress.spawnsPerStep (default 1000).
+     * @return NORMAL jika jeff.stress.maxFood tidak diisi.
+     */
+    public static SpawnBudget fromSystemProperties() {
+        String maxFood = System.getProperty(PROPERTY_PREFIX + "maxFood");
+        if (maxFood == null) return NORMAL;
+        return stress(Integer.parseInt(maxFood.trim()),
+                Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "rampSeconds", "60")),
+                parseCurve(System.getProperty(PROPERTY_PREFIX + "curve", "linear")),
+                Integer.parseInt(System.getProperty(PROPERTY_PREFIX + "spawnsPerStep", "1000")));
+    }
+
+    public static Curve parseCurve(String name) {
+        return Curve.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @param tick Langkah simulasi sejak start.
+     * @param liveFood Jumlah makanan yang hidup sekarang.
+     * @return Jumlah makanan baru yang dimunculkan pada langkah ini.
+     */
+    int spawnsFor(long tick, int liveFood, Random random) {
+        if (chancePercent > 0) {
+            // urutan pemanggilan random sama dengan versi lama, agar rekaman lama tetap cocok
+            return random.nextInt(100) >= 100 - chancePercent && liveFood < maxFood ? 1 : 0;
+        }
+        return Math.max(0, Math.min(maxSpawnsPerStep, targetAt(tick) - liveFood));
+    }
+
+    /** @return Target jumlah makanan hidup pada langkah ini. */
+    public int targetAt(long tick) {
+        if (tick >= rampSteps) return maxFood;
+        double t = (double) tick / rampSteps;
+        switch (curve) {
+            case QUADRATIC:
+                return (int) (maxFood * t * t);
+            case EXPONENTIAL:
+                return (int) Math.pow(maxFood, t);
+            default:
+                return (int) (maxFood * t);
+        }
+    }
+
+    // Ditulis ke InputLog agar sesi stress diputar ulang dengan budget yang sama
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(maxFood);
+        out.writeLong(rampSteps);
+        out.writeByte(curve.ordinal());
+        out.writeInt(maxSpawnsPerStep);
+        out.writeByte(chancePercent);
+    }
+
+    static SpawnBudget read(DataInputStream in) throws IOException {
+        int maxFood = in.readInt();
+        long rampSteps = in.readLong();
+        int curve = in.readUnsignedByte();
+        int maxSpawnsPerStep = in.readInt();
+        int chancePercent = in.readUnsignedByte();
+        if (curve >= Curve.values().length) throw new IOException("Kurva budget spawn tidak dikenal: " + curve);
+        return new SpawnBudget(maxFood, rampSteps, Curve.values()[curve], maxSpawnsPerStep, chancePercent);
+    }
+
+    public boolean isStress() { return chancePercent == 0; }
+    public int getMaxFood() { return maxFood; }
+
+    @Override
+    public String toString() {
+        if (!isStress()) return "normal (" + chancePercent + "% per langkah, maks " + maxFood + ")";
+        return "stress (maks " + maxFood + ", naik " + rampSteps / GameSimulation.STEPS_PER_SECOND + " dtk, "
+                + curve.name().toLowerCase(Locale.ROOT) + ", " + maxSpawnsPerStep + "/langkah)";
+    }
+}